@@ -0,0 +1,233 @@
+package othello;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.event.ActionEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+/**
+ * This class is responsible for displaying the Othello board, which is represented as a 2d array of
+ * OthelloSquares. The rules of the game are enforced by a GameState, which holds the actual position.
+ * The Board registers itself as a GameListener of the GameState, and whenever a piece is placed or the
+ * game is reset, the Board updates the OthelloSquares to match.
+ *
+ * The Board remembers the position it is displaying, as the black and white pieces of a BitBoard, along
+ * with the squares highlighted as valid moves and the square of the last move. To display a new
+ * position, it compares it with the one on screen and only touches the OthelloSquares whose piece or
+ * color has changed, rather than redrawing all 64 squares, and the flips of a move are all animated by
+ * one shared Timeline. This keeps the work done for each move small even when two ComputerPlayers play
+ * as fast as they can search.
+ */
+public class Board implements BoardView {
+    private static final int NO_SQUARE = -1;
+
+    private OthelloSquare[][] board;
+    private GameState gameState;
+    private long displayedBlack;
+    private long displayedWhite;
+    private long validMoves;
+    private int lastMoveSquare;
+    private Timeline flipAnimation;
+    private long flippingPieces;
+
+    /**
+     * This is the constructor for the board of Othellosquares that is visible to the user of the program
+     * on the screen. The method sets up the board instance variables, calls helper methods to set up
+     * the board, and starts listening to the GameState it displays.
+     */
+    public Board(Pane pane, GameState gameState) {
+        this.board=new OthelloSquare[ViewConstants.BOARD_DIM][ViewConstants.BOARD_DIM];
+        this.gameState=gameState;
+        this.lastMoveSquare=NO_SQUARE;
+        this.flipAnimation=new Timeline();
+        this.flipAnimation.setOnFinished((ActionEvent e) -> this.flippingPieces=0);
+
+        this.setUpBorder(pane);
+        this.setUpBoard(pane);
+        this.updatePieces(gameState.getBitBoard(), false);
+        gameState.addListener(this);
+    }
+
+    /**
+     * This method sets up the OthelloSquares lying on the edge of the Board, and visually makes them
+     * a different color than the other OthelloSquares to let the user know that pieces cannot be played
+     * on the border.
+     */
+    private void setUpBorder(Pane pane) {
+        for (int i=0; i<this.board[0].length; i++) {
+            for (int j=0; j<this.board.length; j++) {
+                if (i==0 || i==this.board.length-1 || j==0 || j==this.board[i].length-1) {
+                    this.board[i][j] = new OthelloSquare(Color.DARKRED, i, j, pane);
+                }
+            }
+        }
+    }
+
+    /**
+     * This helper method is called by the constructor of the board on screen, and sets up
+     * all the non-border OthelloSquares.
+     */
+    private void setUpBoard(Pane pane) {
+        for (int i=1; i<this.board[0].length-1; i++) {
+            for (int j=1; j<this.board.length-1; j++) {
+                this.board[j][i]=new OthelloSquare(Color.DARKGREEN, i,j, pane);
+            }
+        }
+    }
+
+    /**
+     * This helper method returns the OthelloSquare displaying a particular BitBoard square.
+     */
+    private OthelloSquare getSquare(int square) {
+        return this.board[BitBoard.getArrayYPos(square)][BitBoard.getArrayXPos(square)];
+    }
+
+    /**
+     * This method displays a position by comparing it with the position on screen. Pieces are created
+     * on the squares which have become occupied and removed from the squares which have become empty,
+     * and the pieces which have changed color are flipped, either all together in the shared flip
+     * animation or straight away. Any flip animation still playing from the previous move is finished
+     * first, so that its pieces show their final color.
+     */
+    private void updatePieces(BitBoard currBoard, boolean animate) {
+        this.finishFlips();
+        long black = currBoard.getBlack();
+        long white = currBoard.getWhite();
+        long removed = (this.displayedBlack | this.displayedWhite) & ~(black | white);
+        long added = (black | white) & ~(this.displayedBlack | this.displayedWhite);
+        long flipped = (black & this.displayedWhite) | (white & this.displayedBlack);
+        while (removed!=0) {
+            this.getSquare(Long.numberOfTrailingZeros(removed)).removePiece();
+            removed &= removed-1;
+        }
+        while (added!=0) {
+            int square = Long.numberOfTrailingZeros(added);
+            this.getSquare(square).createPiece((black & (1L << square))!=0);
+            added &= added-1;
+        }
+        this.flipPieces(flipped, animate);
+        this.displayedBlack=black;
+        this.displayedWhite=white;
+    }
+
+    /**
+     * This helper method flips the pieces on particular squares. If the flips are animated, the
+     * KeyValues of every piece are collected into one KeyFrame, and the shared Timeline is reused to play
+     * them all at once. Otherwise, the pieces show their new color straight away.
+     */
+    private void flipPieces(long flipped, boolean animate) {
+        if (flipped==0) {
+            return;
+        }
+        KeyValue[] keyValues = new KeyValue[Long.bitCount(flipped)];
+        int flipCount = 0;
+        for (long pieces=flipped; pieces!=0; pieces &= pieces-1) {
+            keyValues[flipCount++] = this.getSquare(Long.numberOfTrailingZeros(pieces)).flipPiece();
+        }
+        this.flippingPieces=flipped;
+        if (animate) {
+            KeyFrame kf = new KeyFrame(Duration.millis(ViewConstants.FLIP_ANIMATION_MILLIS), keyValues);
+            this.flipAnimation.getKeyFrames().setAll(kf);
+            this.flipAnimation.playFromStart();
+        } else {
+            this.finishFlips();
+        }
+    }
+
+    /**
+     * This helper method stops the shared flip animation, if it is still playing, and shows the pieces
+     * it was flipping in their final color. Once the animation has finished by itself, there are no
+     * pieces left to finish.
+     */
+    private void finishFlips() {
+        if (this.flippingPieces==0) {
+            return;
+        }
+        this.flipAnimation.stop();
+        for (long pieces=this.flippingPieces; pieces!=0; pieces &= pieces-1) {
+            this.getSquare(Long.numberOfTrailingZeros(pieces)).showPieceColor();
+        }
+        this.flippingPieces=0;
+    }
+
+    /**
+     * This method is called by the GameState whenever a player places a piece. The method displays the
+     * new position, which creates the new piece and flips every sandwiched piece, and highlights the move
+     * as the last move played, removing the highlights of the valid moves.
+     */
+    @Override
+    public void piecePlaced(int square, boolean isBlack, long flips) {
+        this.updatePieces(this.gameState.getBitBoard(), true);
+        this.showSquareColors(0, square);
+    }
+
+    /**
+     * This method is responsible for highlighting all possible legal moves for the current board
+     * configuration, which are found by the GameState.
+     */
+    @Override
+    public void highlightValidMoves(boolean blackTurn) {
+        this.showSquareColors(this.gameState.getLegalMoves(blackTurn), this.lastMoveSquare);
+    }
+
+    /**
+     * This method displays a position straight away, without animating the flips, and highlights the
+     * last move played. Only the OthelloSquares which differ from the position on screen are changed.
+     */
+    @Override
+    public void showPosition(BitBoard currBoard, int lastMoveSquare) {
+        this.updatePieces(currBoard, false);
+        this.showSquareColors(0, Math.max(lastMoveSquare, NO_SQUARE));
+    }
+
+    /**
+     * This method returns the width and height of every OthelloSquare, which is SQUARE_DIM in the
+     * ViewConstants class.
+     */
+    @Override
+    public int getSquareSize() {
+        return ViewConstants.SQUARE_DIM;
+    }
+
+    /**
+     * This method changes which squares are highlighted as valid moves and which square is highlighted
+     * as the last move played. Only the OthelloSquares whose color changes are updated: the squares
+     * which have started or stopped being valid moves, and the old and new last move.
+     */
+    private void showSquareColors(long newValidMoves, int newLastMoveSquare) {
+        long changed = this.validMoves ^ newValidMoves;
+        if (newLastMoveSquare!=this.lastMoveSquare) {
+            if (this.lastMoveSquare!=NO_SQUARE) {
+                changed |= 1L << this.lastMoveSquare;
+            } if (newLastMoveSquare!=NO_SQUARE) {
+                changed |= 1L << newLastMoveSquare;
+            }
+        }
+        this.validMoves=newValidMoves;
+        this.lastMoveSquare=newLastMoveSquare;
+        while (changed!=0) {
+            int square = Long.numberOfTrailingZeros(changed);
+            if (square==this.lastMoveSquare) {
+                this.getSquare(square).setLastMove();
+            } else if ((this.validMoves & (1L << square))!=0) {
+                this.getSquare(square).setValidMove();
+            } else {
+                this.getSquare(square).resetSquareColor();
+            }
+            changed &= changed-1;
+        }
+    }
+
+    /**
+     * This method is called by the GameState when the game is reset, and graphically resets the board
+     * of OthelloSquares back to its original state when the program was first opened. Only the squares
+     * which differ from the starting position are changed.
+     */
+    @Override
+    public void gameReset(BitBoard startBoard) {
+        this.showPosition(startBoard, NO_SQUARE);
+    }
+}
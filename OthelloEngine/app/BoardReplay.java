@@ -0,0 +1,101 @@
+package othello;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * This class plays back a saved game on a BoardView, for analysing games from a game file. The moves are
+ * replayed on a BitBoard of its own, so the GameState and any game in progress are left alone. An
+ * AnimationTimer advances the replay once per frame by however many moves are due at a particular
+ * number of moves per second, and only the position reached at the end of the frame is shown, so a
+ * replay at hundreds of moves per second still draws the board once a frame. With a CanvasBoard, that
+ * only redraws the squares which changed during the frame.
+ */
+public class BoardReplay {
+    private BoardView boardView;
+    private GameRecord gameRecord;
+    private double movesPerSecond;
+    private BitBoard replayBoard;
+    private boolean isBlack;
+    private int movesShown;
+    private long startTime;
+    private AnimationTimer timer;
+    private Runnable onFinished;
+
+    /**
+     * The constructor for the BoardReplay class takes in the BoardView to replay on, the game to replay,
+     * and how many moves to show each second.
+     */
+    public BoardReplay(BoardView boardView, GameRecord gameRecord, double movesPerSecond) {
+        this.boardView=boardView;
+        this.gameRecord=gameRecord;
+        this.movesPerSecond=movesPerSecond;
+        this.timer=new AnimationTimer() {
+            /**
+             * This method is called once every frame, and shows the moves which are due.
+             */
+            @Override
+            public void handle(long now) {
+                BoardReplay.this.showFrame(now);
+            }
+        };
+    }
+
+    /**
+     * This method sets code to run once the last move has been shown.
+     */
+    public void setOnFinished(Runnable onFinished) {
+        this.onFinished=onFinished;
+    }
+
+    /**
+     * This method shows the starting position and starts the replay from the first move.
+     */
+    public void play() {
+        this.replayBoard=BitBoard.startPosition();
+        this.isBlack=false;
+        this.movesShown=0;
+        this.startTime=-1;
+        this.boardView.showPosition(this.replayBoard, -1);
+        this.timer.start();
+    }
+
+    /**
+     * This method stops the replay, leaving the position it reached on the board.
+     */
+    public void stop() {
+        this.timer.stop();
+    }
+
+    /**
+     * This helper method plays every move which is due by a particular frame time, passing for a player
+     * with no legal moves as the Referee does, and then shows the position reached. Once every move has
+     * been shown, the replay stops and the onFinished code is run.
+     */
+    private void showFrame(long now) {
+        if (this.startTime<0) {
+            this.startTime=now;
+        }
+        int movesDue = (int) Math.min(this.gameRecord.getMoveCount(),
+                1+(now-this.startTime)*this.movesPerSecond/1e9);
+        if (movesDue<=this.movesShown) {
+            return;
+        }
+        int square = -1;
+        while (this.movesShown<movesDue) {
+            if (this.replayBoard.getLegalMoves(this.isBlack)==0) {
+                this.isBlack=!this.isBlack;
+            }
+            square = this.gameRecord.getMove(this.movesShown);
+            this.replayBoard.placePiece(square, this.isBlack);
+            this.isBlack=!this.isBlack;
+            this.movesShown++;
+        }
+        this.boardView.showPosition(this.replayBoard, square);
+        if (this.movesShown==this.gameRecord.getMoveCount()) {
+            this.timer.stop();
+            if (this.onFinished!=null) {
+                this.onFinished.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package othello;
+
+/**
+ * This interface is implemented by the classes which display the Othello board on screen: the Board,
+ * which builds the board out of a Javafx node for every square and piece, and the CanvasBoard, which
+ * draws the whole board on a single Canvas. A BoardView listens to the GameState it displays, and the
+ * Referee, HumanPlayer and BoardReplay use it without knowing how the board is drawn.
+ */
+public interface BoardView extends GameListener {
+
+    /**
+     * This method highlights all the legal moves of a particular player, so a human player can see where
+     * they may place a piece.
+     */
+    void highlightValidMoves(boolean blackTurn);
+
+    /**
+     * This method displays a position straight away, without animating the flips, highlighting the last
+     * move played on a particular BitBoard square, or no square if it is negative. It is used to replay
+     * a game and to go back to the game in progress afterwards.
+     */
+    void showPosition(BitBoard currBoard, int lastMoveSquare);
+
+    /**
+     * This method returns the width and height of every square in pixels, which the HumanPlayer uses to
+     * find the square that was clicked.
+     */
+    int getSquareSize();
+}
@@ -0,0 +1,190 @@
+package othello;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * This class displays the Othello board by drawing it on a single Javafx Canvas, instead of building it
+ * out of a Rectangle for every square and a Circle for every piece like the Board does. It is chosen
+ * with CANVAS_BOARD in the ViewConstants class, and can be drawn at any square size.
+ *
+ * The CanvasBoard is fed straight from the engine's bitboards: it remembers the black and white pieces
+ * on screen, the squares highlighted as valid moves and the square of the last move, each as a 64 bit
+ * long or a BitBoard square, and works out the new position after a move from the square played and the
+ * flipped pieces it is told about. To display a change, it XORs the new state with the one on screen,
+ * and redraws only the squares whose bit differs, so a move usually redraws a handful of squares and
+ * the rest of the Canvas is left alone. Flips are not animated, so a replay can show hundreds of moves
+ * per second.
+ */
+public class CanvasBoard implements BoardView {
+    private static final int NO_SQUARE = -1;
+
+    private Canvas canvas;
+    private GraphicsContext graphics;
+    private GameState gameState;
+    private int squareSize;
+    private long displayedBlack;
+    private long displayedWhite;
+    private long validMoves;
+    private int lastMoveSquare;
+
+    /**
+     * The constructor for the CanvasBoard class creates a Canvas big enough for the board and its border
+     * at a particular square size, adds it to the Pane, draws the position of the GameState, and starts
+     * listening to the GameState.
+     */
+    public CanvasBoard(Pane pane, GameState gameState, int squareSize) {
+        this.gameState=gameState;
+        this.lastMoveSquare=NO_SQUARE;
+        this.canvas=new Canvas();
+        this.graphics=this.canvas.getGraphicsContext2D();
+        pane.getChildren().add(this.canvas);
+
+        this.setSquareSize(squareSize);
+        gameState.addListener(this);
+    }
+
+    /**
+     * This method changes the width and height of every square in pixels, resizes the Canvas to match,
+     * and redraws the whole board, since every square has moved.
+     */
+    public void setSquareSize(int squareSize) {
+        this.squareSize=squareSize;
+        this.canvas.setWidth(ViewConstants.BOARD_DIM*squareSize);
+        this.canvas.setHeight(ViewConstants.BOARD_DIM*squareSize);
+        this.drawBorder();
+        BitBoard currBoard = this.gameState.getBitBoard();
+        this.displayedBlack=currBoard.getBlack();
+        this.displayedWhite=currBoard.getWhite();
+        this.drawSquares(-1L);
+    }
+
+    /**
+     * This helper method draws the squares on the edge of the board, which pieces cannot be played on.
+     */
+    private void drawBorder() {
+        for (int i=0; i<ViewConstants.BOARD_DIM; i++) {
+            for (int j=0; j<ViewConstants.BOARD_DIM; j++) {
+                if (i==0 || i==ViewConstants.BOARD_DIM-1 || j==0 || j==ViewConstants.BOARD_DIM-1) {
+                    this.drawCell(i, j, Color.DARKRED);
+                }
+            }
+        }
+    }
+
+    /**
+     * This helper method fills one square of the Canvas with a color and outlines it in black. The
+     * outline is drawn inside the square, so redrawing a square never touches its neighbours.
+     */
+    private void drawCell(int arrayXPos, int arrayYPos, Color color) {
+        double x = arrayXPos*this.squareSize;
+        double y = arrayYPos*this.squareSize;
+        this.graphics.setFill(color);
+        this.graphics.fillRect(x, y, this.squareSize, this.squareSize);
+        this.graphics.setStroke(Color.BLACK);
+        this.graphics.strokeRect(x+0.5, y+0.5, this.squareSize-1, this.squareSize-1);
+    }
+
+    /**
+     * This helper method redraws particular BitBoard squares from the state on screen: the color of the
+     * square, depending on whether it is the last move, a valid move or neither, and then the piece on
+     * it, if there is one. The pieces are scaled with the squares, keeping the proportions of
+     * PIECE_RADIUS and SQUARE_DIM in the ViewConstants class.
+     */
+    private void drawSquares(long squares) {
+        double radius = (double) this.squareSize*ViewConstants.PIECE_RADIUS/ViewConstants.SQUARE_DIM;
+        while (squares!=0) {
+            int square = Long.numberOfTrailingZeros(squares);
+            long squareMask = 1L << square;
+            int arrayXPos = BitBoard.getArrayXPos(square);
+            int arrayYPos = BitBoard.getArrayYPos(square);
+            Color color = ViewConstants.SQUARE_DEFAULT_COLOR;
+            if (square==this.lastMoveSquare) {
+                color = ViewConstants.LAST_MOVE_COLOR;
+            } else if ((this.validMoves & squareMask)!=0) {
+                color = ViewConstants.VALID_MOVE_COLOR;
+            }
+            this.drawCell(arrayXPos, arrayYPos, color);
+            if (((this.displayedBlack | this.displayedWhite) & squareMask)!=0) {
+                this.graphics.setFill((this.displayedBlack & squareMask)!=0 ? Color.BLACK : Color.WHITE);
+                this.graphics.fillOval((arrayXPos+0.5)*this.squareSize-radius,
+                        (arrayYPos+0.5)*this.squareSize-radius, 2*radius, 2*radius);
+            }
+            squares &= squares-1;
+        }
+    }
+
+    /**
+     * This helper method changes the state on screen and redraws the squares which differ from it: the
+     * squares whose piece has changed, the squares which have started or stopped being valid moves, and
+     * the old and new last move.
+     */
+    private void update(long black, long white, long newValidMoves, int newLastMoveSquare) {
+        long dirty = (black ^ this.displayedBlack) | (white ^ this.displayedWhite)
+                | (newValidMoves ^ this.validMoves);
+        if (newLastMoveSquare!=this.lastMoveSquare) {
+            if (this.lastMoveSquare!=NO_SQUARE) {
+                dirty |= 1L << this.lastMoveSquare;
+            } if (newLastMoveSquare!=NO_SQUARE) {
+                dirty |= 1L << newLastMoveSquare;
+            }
+        }
+        this.displayedBlack=black;
+        this.displayedWhite=white;
+        this.validMoves=newValidMoves;
+        this.lastMoveSquare=newLastMoveSquare;
+        this.drawSquares(dirty);
+    }
+
+    /**
+     * This method is called by the GameState whenever a player places a piece. The new position is
+     * worked out from the position on screen, the square played and the flipped pieces, without asking
+     * the GameState for a copy of its BitBoard, and the move is highlighted as the last move played.
+     */
+    @Override
+    public void piecePlaced(int square, boolean isBlack, long flips) {
+        long placed = (1L << square) | flips;
+        if (isBlack) {
+            this.update(this.displayedBlack | placed, this.displayedWhite & ~placed, 0, square);
+        } else {
+            this.update(this.displayedBlack & ~placed, this.displayedWhite | placed, 0, square);
+        }
+    }
+
+    /**
+     * This method is called by the GameState when the game is reset, and redraws the squares which
+     * differ from the starting position.
+     */
+    @Override
+    public void gameReset(BitBoard startBoard) {
+        this.showPosition(startBoard, NO_SQUARE);
+    }
+
+    /**
+     * This method highlights the legal moves of a particular player, which are found by the GameState.
+     */
+    @Override
+    public void highlightValidMoves(boolean blackTurn) {
+        this.update(this.displayedBlack, this.displayedWhite, this.gameState.getLegalMoves(blackTurn),
+                this.lastMoveSquare);
+    }
+
+    /**
+     * This method displays a position, redrawing only the squares which differ from the position on
+     * screen, and highlights the last move played.
+     */
+    @Override
+    public void showPosition(BitBoard currBoard, int lastMoveSquare) {
+        this.update(currBoard.getBlack(), currBoard.getWhite(), 0, Math.max(lastMoveSquare, NO_SQUARE));
+    }
+
+    /**
+     * This method returns the width and height of every square in pixels.
+     */
+    @Override
+    public int getSquareSize() {
+        return this.squareSize;
+    }
+}
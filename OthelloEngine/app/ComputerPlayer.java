@@ -0,0 +1,324 @@
+package othello;
+
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+
+/**
+ * This class represents a computer player playing the Othello game. The class primarily contains methods
+ * governing how a computer player determines what piece to play.
+ */
+public class ComputerPlayer extends Player{
+    private GameState gameState;
+    private int difficulty;
+    private boolean isBlack;
+    private boolean gameRunning;
+    private SearchEngine searchEngine;
+    private OpeningBook openingBook;
+    private long moveTimeMillis;
+    private CompletableFuture<Move> pendingMove;
+    private boolean solvingEndgame;
+    private String provenResult;
+    private boolean ponderingEnabled;
+    private CompletableFuture<Move> ponderSearch;
+    private BitBoard ponderBoard;
+    private boolean ponderSolvingEndgame;
+    private boolean playingBookMove;
+    private SearchMetrics searchMetrics;
+    private String searchSummary;
+
+    /**
+     * The constructor for the ComputerPlayer class initializes the Player superclass, and initializes
+     * relevant instance variables. The searchMode parameter is one of the search mode constants in the
+     * Constants class, and determines how the SearchEngine searches for the best move. If the
+     * difficulty is Constants.TIMED_PLAYER_MODE, the ComputerPlayer searches as deep as it can within
+     * a time limit instead of to a fixed depth. The positions the search reaches are scored by the
+     * Evaluator chosen by COMPUTER_EVALUATOR in the Constants class. The statistics of every search are
+     * collected by a SearchMetrics, which is registered with JMX as "White" or "Black" if
+     * REGISTER_SEARCH_METRICS in the Constants class is true.
+     */
+    public ComputerPlayer(int difficulty, int searchMode, GameState gameState, boolean isBlack,
+                          Referee referee) {
+        super(gameState, isBlack, referee);
+
+        this.gameRunning=true;
+        this.gameState=gameState;
+        this.difficulty=difficulty;
+        this.isBlack=isBlack;
+        this.searchEngine=new SearchEngine(searchMode,
+                new TranspositionTable(Constants.TT_SIZE_MB, Constants.TT_REPLACEMENT_POLICY),
+                Constants.SEARCH_THREADS);
+        if (Constants.COMPUTER_EVALUATOR==Constants.EVALUATOR_PATTERNS) {
+            this.searchEngine.setEvaluator(PatternEvaluator.getDefaultEvaluator());
+        }
+        this.moveTimeMillis=Constants.MOVE_TIME_MILLIS;
+        this.openingBook=OpeningBook.getDefaultBook();
+        this.searchMetrics=new SearchMetrics();
+        this.searchEngine.addSearchListener(this.searchMetrics);
+        if (Constants.REGISTER_SEARCH_METRICS) {
+            this.searchMetrics.register(isBlack ? "Black" : "White");
+        }
+    }
+
+    /**
+     * This method changes how many milliseconds a timed ComputerPlayer may spend searching for
+     * each move.
+     */
+    public void setMoveTimeMillis(long moveTimeMillis) {
+        this.moveTimeMillis=moveTimeMillis;
+    }
+
+    /**
+     * This method overrides the abstract makeMove() method inherited from the Player superclass. If the
+     * ComputerPlayer pondered on the position that has been reached, the ponder search is used as the
+     * search for this move, so its move may already be known. Otherwise, any ponder search is stopped,
+     * and the method starts a new search with startSearch(). The search runs on a separate thread so that
+     * the Javafx application thread is not frozen while the ComputerPlayer is thinking, and once it
+     * completes the move is played on the Javafx application thread using Platform.runLater(). The
+     * method does nothing if a search is already in progress.
+     */
+    @Override
+    public void makeMove() {
+        if (this.gameRunning && this.pendingMove==null) {
+            BitBoard currBoard = this.gameState.getBitBoard();
+            CompletableFuture<Move> search = this.takePonderSearch(currBoard);
+            if (search==null) {
+                search = this.startSearch(currBoard, false);
+            }
+            CompletableFuture<Move> pendingSearch = search;
+            this.pendingMove=pendingSearch;
+            pendingSearch.thenAccept((Move bestMove) -> Platform.runLater(() -> this.playMove(pendingSearch,
+                    bestMove)));
+        }
+    }
+
+    /**
+     * This helper method starts the search for the best move in a position. The method first looks the
+     * position up in the OpeningBook, and returns the book move if there is one. Otherwise, the method
+     * asks the SearchEngine to determine the best move, either to a fixed depth or within a time limit.
+     * Once the number of empty squares falls to Constants.ENDGAME_EMPTIES, the SearchEngine solves the
+     * rest of the game exactly instead, and the ComputerPlayer remembers the proven result. A ponder
+     * search is started the same way, except that a timed search does not run out of time until the
+     * opponent plays the expected move, and no search is started for a book position, in which case
+     * the method returns null.
+     */
+    private CompletableFuture<Move> startSearch(BitBoard currBoard, boolean pondering) {
+        Move bookMove = null;
+        if (this.openingBook!=null) {
+            bookMove = this.openingBook.lookup(currBoard, this.isBlack);
+        }
+        this.solvingEndgame=bookMove==null && currBoard.countEmpty()<=Constants.ENDGAME_EMPTIES;
+        this.playingBookMove=bookMove!=null;
+        if (bookMove!=null) {
+            if (pondering) {
+                return null;
+            } return CompletableFuture.completedFuture(bookMove);
+        } if (this.solvingEndgame) {
+            return this.searchEngine.solveEndgameAsync(currBoard, this.isBlack);
+        } if (this.difficulty==Constants.TIMED_PLAYER_MODE) {
+            if (pondering) {
+                return this.searchEngine.ponderTimedAsync(currBoard, this.isBlack, this.moveTimeMillis);
+            } return this.searchEngine.getBestMoveTimedAsync(currBoard, this.isBlack, this.moveTimeMillis);
+        } return this.searchEngine.getBestMoveAsync(currBoard, this.difficulty, this.isBlack);
+    }
+
+    /**
+     * This method turns pondering on or off. A pondering ComputerPlayer searches on the opponent's time:
+     * after playing its move, it predicts the opponent's reply and searches the position after it
+     * while the opponent is thinking. The referee only turns pondering on when the opponent is human,
+     * since every SearchEngine searches on the same search thread, and pondering would hold up the
+     * search of a computer opponent.
+     */
+    @Override
+    public void setPondering(boolean pondering) {
+        this.ponderingEnabled=pondering;
+        if (!pondering) {
+            this.stopPondering();
+        }
+    }
+
+    /**
+     * This helper method is called once this player's move has been played, and starts a ponder search
+     * on the position reached if the opponent plays the reply the SearchEngine predicts. Nothing is
+     * searched if the game is over, if the opponent has to pass, since the referee then asks this
+     * player to move straight away, or if this player would have to pass after the predicted reply.
+     */
+    private void startPondering() {
+        if (!this.ponderingEnabled || !this.gameRunning || this.pendingMove!=null) {
+            return;
+        }
+        BitBoard currBoard = this.gameState.getBitBoard();
+        int predictedMove = this.searchEngine.predictMove(currBoard, !this.isBlack);
+        if (predictedMove==TranspositionTable.NO_MOVE) {
+            return;
+        }
+        currBoard.placePiece(predictedMove, !this.isBlack);
+        if (currBoard.getLegalMoves(this.isBlack)==0) {
+            return;
+        }
+        CompletableFuture<Move> ponderSearch = this.startSearch(currBoard, true);
+        if (ponderSearch!=null) {
+            this.ponderBoard=currBoard;
+            this.ponderSearch=ponderSearch;
+            this.ponderSolvingEndgame=this.solvingEndgame;
+        }
+    }
+
+    /**
+     * This helper method is called when it is this player's turn, and returns the ponder search if it
+     * searched the position that has been reached, telling a timed search that its time is now running
+     * out. If the opponent played a different move, the ponder search is stopped and null is returned.
+     */
+    private CompletableFuture<Move> takePonderSearch(BitBoard currBoard) {
+        if (this.ponderSearch==null) {
+            return null;
+        } if (currBoard.getBlack()!=this.ponderBoard.getBlack()
+                || currBoard.getWhite()!=this.ponderBoard.getWhite()) {
+            this.stopPondering();
+            return null;
+        }
+        CompletableFuture<Move> ponderSearch = this.ponderSearch;
+        this.searchEngine.ponderHit();
+        this.solvingEndgame=this.ponderSolvingEndgame;
+        this.playingBookMove=false;
+        this.ponderSearch=null;
+        this.ponderBoard=null;
+        return ponderSearch;
+    }
+
+    /**
+     * This helper method stops the ponder search, if there is one, so that its move is never played.
+     */
+    private void stopPondering() {
+        if (this.ponderSearch!=null) {
+            this.ponderSearch.cancel(false);
+            this.searchEngine.stopPondering();
+            this.ponderSearch=null;
+            this.ponderBoard=null;
+        }
+    }
+
+    /**
+     * This helper method is called on the Javafx application thread once a search has completed, and
+     * plays the move it found using the placePiece() method inherited from Player. If the search was
+     * cancelled in the meantime, or the game is no longer running, the move is ignored. If the move was
+     * found by solving the endgame, the proven result is recorded before the move is played, so the
+     * referee can display it, along with a summary of the search. Once the move has been played, the
+     * ComputerPlayer starts pondering.
+     */
+    private void playMove(CompletableFuture<Move> search, Move bestMove) {
+        if (this.pendingMove!=search) {
+            return;
+        }
+        this.pendingMove=null;
+        if (this.gameRunning && bestMove!=null) {
+            if (this.solvingEndgame) {
+                this.provenResult=this.describeResult(bestMove.getMoveValue());
+            }
+            SearchStatistics statistics = this.searchMetrics.getLastStatistics();
+            if (this.playingBookMove) {
+                this.searchSummary="Book move";
+            } else if (statistics!=null) {
+                this.searchSummary=statistics.toString();
+            }
+            this.placePiece(bestMove.getArrayXPos(), bestMove.getArrayYPos());
+            this.startPondering();
+        }
+    }
+
+    /**
+     * This helper method describes the final difference in pieces this player can force, in terms of
+     * which colour wins the game and by how many pieces.
+     */
+    private String describeResult(int pieceDifference) {
+        String colour = "White";
+        String opponentColour = "Black";
+        if (this.isBlack) {
+            colour = "Black";
+            opponentColour = "White";
+        }
+        if (pieceDifference>0) {
+            return colour+" wins by "+pieceDifference;
+        } if (pieceDifference<0) {
+            return opponentColour+" wins by "+(-pieceDifference);
+        } return "Draw";
+    }
+
+    /**
+     * This method overrides the abstract getProvenResult() method inherited from the Player superclass,
+     * and returns the result of the game this player proved the last time it solved the endgame, or
+     * null if it has not solved the endgame yet.
+     */
+    @Override
+    public String getProvenResult() {
+        return this.provenResult;
+    }
+
+    /**
+     * This method overrides the abstract cancelMove() method inherited from the Player superclass. The
+     * method cancels the search in progress and the ponder search, if there are any, so that their moves
+     * are never played.
+     */
+    @Override
+    public void cancelMove() {
+        this.stopPondering();
+        if (this.pendingMove!=null) {
+            this.pendingMove.cancel(false);
+            this.searchEngine.stopSearch();
+            this.pendingMove=null;
+        }
+    }
+
+    /**
+     * This method overrides the discard() method inherited from the Player superclass, and closes the
+     * SearchEngine, so that the threads of its helpers end as soon as its searches have stopped, and
+     * its TranspositionTable is not kept alive by them. The SearchMetrics is removed from JMX, so a
+     * console no longer shows the statistics of a player which is not playing.
+     */
+    @Override
+    public void discard() {
+        this.searchEngine.close();
+        this.searchMetrics.unregister();
+    }
+
+    /**
+     * This method overrides the inherited abstract method editGameRunning() from the Player superclass.
+     * The method ensures that the referee can stop the ComputerPlayer from making moves once the
+     * game has ended, and stops it from pondering.
+     */
+    @Override
+    public void editGameRunning(boolean gameRunning) {
+        this.gameRunning=gameRunning;
+        if (!gameRunning) {
+            this.stopPondering();
+        }
+    }
+
+    /**
+     * This method lets the referee know that the player is a computer, to help the referee
+     * know whether to highlight valid moves or not.
+     */
+    @Override
+    public boolean isHuman() {
+        return false;
+    }
+
+    /**
+     * This method overrides the abstract getName() method inherited from the Player superclass, and
+     * describes how deep the ComputerPlayer searches, or how long it searches for if it is timed.
+     */
+    @Override
+    public String getName() {
+        if (this.difficulty==Constants.TIMED_PLAYER_MODE) {
+            return "Computer "+this.moveTimeMillis+"ms";
+        } return "Computer depth "+this.difficulty;
+    }
+
+    /**
+     * This method overrides the abstract getSearchSummary() method inherited from the Player superclass,
+     * and describes the search which found the last move this player played.
+     */
+    @Override
+    public String getSearchSummary() {
+        return this.searchSummary;
+    }
+}
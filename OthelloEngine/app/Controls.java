@@ -1,10 +1,13 @@
 package othello;
 
+import java.util.ArrayList;
+import java.util.List;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.ToggleGroup;
@@ -26,9 +29,13 @@ public class Controls {
   // Arrays for player buttons. Each button is checked to see if it is
   // selected when the user starts each game.
   private RadioButton[][] playerButtons;
+  // Search mode selectors for each player. Only used when the player is a
+  // computer.
+  private List<ChoiceBox<String>> searchModeBoxes;
   private Label whiteScore;
   private Label blackScore;
   private Label moveLabel;
+  private Label statisticsLabel;
 
   /**
    * This is the constructor for the Controls class. The constructor is responsible for
@@ -53,6 +60,7 @@ public class Controls {
   private void setUpControls() {
     this.setupInstructions();
     this.setUpMovePane();
+    this.setUpStatisticsPane();
     this.setUpScorePane();
     this.setupMenu();
     this.setupGameButtons();
@@ -87,6 +95,22 @@ public class Controls {
     this.controlsPane.getChildren().add(movePane);
   }
 
+  /**
+   * This method sets up the Label which displays how a computer player found its last move: how deep
+   * it searched, how long it took, how many nodes it visited, its cutoff and transposition table hit
+   * rates, and the line it expects. The Label is only shown if SHOW_SEARCH_STATISTICS in the
+   * ViewConstants class is true.
+   */
+  private void setUpStatisticsPane() {
+    this.statisticsLabel = new Label("");
+    this.statisticsLabel.setStyle("-fx-font-size: 11px;");
+    this.statisticsLabel.setWrapText(true);
+    this.statisticsLabel.setMaxWidth(ViewConstants.CONTROLS_PANE_WIDTH-20);
+    if (ViewConstants.SHOW_SEARCH_STATISTICS) {
+      this.controlsPane.getChildren().add(this.statisticsLabel);
+    }
+  }
+
   /**
    * This is a getter method for the controls VBox. It is used by PaneOrganizer to add teh Controls
    * VBox to the BorderPane root node.
@@ -108,13 +132,18 @@ public class Controls {
    * Sets up the two halves of the player mode menu.
    */
   private void setupMenu() {
-    this.playerButtons = new RadioButton[2][4];
+    this.playerButtons = new RadioButton[2][5];
+    this.searchModeBoxes = new ArrayList<>();
+
+    // The menus are created in Constants.WHITE, Constants.BLACK order, so
+    // each search mode box is added at the index of its player.
+    VBox whiteMenu = this.playerMenu(Constants.WHITE);
+    VBox blackMenu = this.playerMenu(Constants.BLACK);
 
     HBox playersMenu = new HBox();
     playersMenu.setSpacing(10);
     playersMenu.setAlignment(Pos.CENTER);
-    playersMenu.getChildren().addAll(this.playerMenu(Constants.WHITE),
-        this.playerMenu(Constants.BLACK));
+    playersMenu.getChildren().addAll(whiteMenu, blackMenu);
 
     this.controlsPane.getChildren().add(playersMenu);
   }
@@ -124,7 +153,7 @@ public class Controls {
    */
   private VBox playerMenu(int player) {
     VBox playerMenu = new VBox();
-    playerMenu.setPrefWidth(Constants.CONTROLS_PANE_WIDTH / 2);
+    playerMenu.setPrefWidth(ViewConstants.CONTROLS_PANE_WIDTH / 2);
     playerMenu.setSpacing(10);
     playerMenu.setAlignment(Pos.CENTER);
 
@@ -154,21 +183,36 @@ public class Controls {
 
     }
 
+    // Timed computer player, which searches as deep as it can within
+    // Constants.MOVE_TIME_MILLIS instead of to a fixed depth.
+    RadioButton timedButton = new RadioButton("Computer T  ");
+    timedButton.setToggleGroup(toggleGroup);
+    this.playerButtons[player][Constants.TIMED_PLAYER_MODE] = timedButton;
+
     // Checkbox for deterministic play. Only enabled when computer player
     // selected. This is ONLY for Bells&Whistles
 
+    // Search mode for computer players. The order of the items matches the
+    // search mode constants in Constants.
+    ChoiceBox<String> searchModeBox = new ChoiceBox<>();
+    searchModeBox.getItems().addAll("Minimax", "Alpha-Beta", "PVS");
+    searchModeBox.getSelectionModel().select(Constants.SEARCH_PVS);
+    searchModeBox.setFocusTraversable(false);
+    this.searchModeBoxes.add(searchModeBox);
+
     // Visually add the player mode menu.
     playerMenu.getChildren().add(playerName);
     for (RadioButton rb : this.playerButtons[player]) {
       playerMenu.getChildren().add(rb);
     }
+    playerMenu.getChildren().add(searchModeBox);
 
     return playerMenu;
   }
 
   /**
    * This method sets up the Buttons which allows the user to begin playing the game, reset the game,
-   * or quit the program.
+   * replay the last game saved, or quit the program.
    */
   private void setupGameButtons() {
     Button applySettingsButton = new Button("Apply Settings");
@@ -179,12 +223,16 @@ public class Controls {
     resetButton.setOnAction((ActionEvent e)-> this.resetHandler(e));
     resetButton.setFocusTraversable(false);
 
+    Button replayButton = new Button("Replay Last Game");
+    replayButton.setOnAction((ActionEvent e)-> this.game.replayLastGame());
+    replayButton.setFocusTraversable(false);
+
     Button quitButton = new Button("Quit");
     quitButton.setOnAction((ActionEvent e)->Platform.exit());
     quitButton.setFocusTraversable(false);
 
     this.controlsPane.getChildren().addAll(applySettingsButton, resetButton,
-        quitButton);
+        replayButton, quitButton);
   }
 
   /*
@@ -196,7 +244,7 @@ public class Controls {
       int whitePlayerMode = 0;
       int blackPlayerMode = 0;
       for (int player = 0; player < 2; player++) {
-        for (int mode = 0; mode < 4; mode++) {
+        for (int mode = 0; mode < 5; mode++) {
           if (this.playerButtons[player][mode].isSelected()) {
             if (player == Constants.WHITE) {
               whitePlayerMode = mode;
@@ -205,7 +253,13 @@ public class Controls {
             }
           }
         }
-    } this.game.createPlayers(whitePlayerMode, blackPlayerMode, this.whiteScore, this.blackScore, this.moveLabel);
+    }
+      int whiteSearchMode =
+          this.searchModeBoxes.get(Constants.WHITE).getSelectionModel().getSelectedIndex();
+      int blackSearchMode =
+          this.searchModeBoxes.get(Constants.BLACK).getSelectionModel().getSelectedIndex();
+      this.game.createPlayers(whitePlayerMode, blackPlayerMode, whiteSearchMode, blackSearchMode,
+          this.whiteScore, this.blackScore, this.moveLabel, this.statisticsLabel);
 
   }
 
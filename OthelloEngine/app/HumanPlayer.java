@@ -0,0 +1,141 @@
+package othello;
+
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+
+/**
+ * This class represents a human player in the Othello game, and primarily contains methods
+ * governing how a human player is allowed to place a piece.
+ */
+public class HumanPlayer extends Player{
+    private boolean isBlack;
+    private GameState gameState;
+    private Pane pane;
+    private BoardView boardView;
+    private boolean gameRunning;
+
+    /**
+     * The constructor for the HumanPlayer class instantiates the Player superclass, and initializes
+     * relevant instance variables.
+     */
+    public HumanPlayer(GameState gameState, boolean isBlack, Pane pane, BoardView boardView,
+                       Referee referee) {
+        super(gameState, isBlack, referee);
+
+        this.gameRunning=true;
+        this.gameState=gameState;
+        this.isBlack=isBlack;
+        this.pane=pane;
+        this.boardView=boardView;
+    }
+
+    /**
+     * This method overrides an abstract method inherited from the super class, and governs how a
+     * HumanPlayer can make a move. The method achieves this by generating a MouseEvent when the
+     * pane in the center of the BorderPane is clicked, which calls a helper method which logically
+     * determines how to place a piece.
+     */
+    @Override
+    public void makeMove() {
+        if (this.gameRunning) {
+            this.pane.setOnMouseClicked((MouseEvent e)-> this.beginTurn(e));
+        }
+    }
+
+    /**
+     * This is the helper method called when the pane in the center of the BorderPane is clicked
+     * during a HumanPlayer's turn. This method gets the position of the mouse at the time of clicking,
+     * and determines which square of the BoardView the mouse was in when clicked, using the size of its
+     * squares. The method then passes these integers as parameters into another helper method.
+     */
+    private void beginTurn(MouseEvent e) {
+        int arrayXPos=(int)(e.getX()/this.boardView.getSquareSize());
+        int arrayYPos=(int)(e.getY()/this.boardView.getSquareSize());
+
+        this.checkValidMove(arrayXPos, arrayYPos);
+    }
+
+    /**
+     * This method determines whether OthelloSquare the mouse was in at the time of click was a
+     * valid move or not. If it is a valid move, calls a helper method which places the piece.
+     * If the move was not valid, the method does nothing.
+     */
+    private void checkValidMove(int arrayXPos, int arrayYPos) {
+        if (this.gameState.isLegalMove(arrayXPos, arrayYPos, this.isBlack)) {
+            this.takeTurn(arrayXPos, arrayYPos);
+        }
+    }
+
+    /**
+     * This method removes the MouseEvent generated from clicking the pane to prevent the human player
+     * from going during the opponent's turn, and then places a piece in the OthelloSquare by calling the
+     * placePiece() method inherited from the Player superclass. The handler is removed first because
+     * placing the piece starts the next turn straight away, and if the next player is also human, they
+     * set up their own handler on the same pane.
+     */
+    private void takeTurn(int arrayXPos, int arrayYPos) {
+        this.pane.setOnMouseClicked(null);
+        this.placePiece(arrayXPos, arrayYPos);
+    }
+
+    /**
+     * This method overrides the abstract editGameRunning() method inherited from the player class
+     */
+    @Override
+    public void editGameRunning(boolean gameRunning) {
+        this.gameRunning=gameRunning;
+    }
+
+    /**
+     * This method lets the referee know that the player is human, so the referee can decide
+     * whether to highlight all valid moves.
+     */
+    @Override
+    public boolean isHuman() {
+        return true;
+    }
+
+    /**
+     * This method overrides the abstract cancelMove() method inherited from the Player superclass, and
+     * removes the MouseEvent handler so that the human player can no longer place a piece.
+     */
+    @Override
+    public void cancelMove() {
+        this.pane.setOnMouseClicked(null);
+    }
+
+    /**
+     * This method overrides the abstract getProvenResult() method inherited from the Player superclass.
+     * A human player never proves the result of the game, so this method always returns null.
+     */
+    @Override
+    public String getProvenResult() {
+        return null;
+    }
+
+    /**
+     * This method overrides the abstract getName() method inherited from the Player superclass.
+     */
+    @Override
+    public String getName() {
+        return "Human";
+    }
+
+    /**
+     * This method overrides the abstract setPondering() method inherited from the Player superclass. A
+     * human player thinks on the opponent's time without being told to, so this method does nothing.
+     */
+    @Override
+    public void setPondering(boolean pondering) {
+    }
+
+    /**
+     * This method overrides the abstract getSearchSummary() method inherited from the Player superclass.
+     * A human player does not search, so this method always returns null.
+     */
+    @Override
+    public String getSearchSummary() {
+        return null;
+    }
+
+}
@@ -1,12 +1,9 @@
 package othello;
 
-import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
-import javafx.util.Duration;
 
 /**
  * This class is responsible for wrapping an instance of Javafx Circle, which represents an Othello piece
@@ -29,32 +26,19 @@ public class OthelloPiece {
         this.setUpPiece(arrayYPos, arrayXPos, isBlack);
     }
 
-    /**
-     * This constructor for the OthelloPiece class does not take in a Pane, and thus is called
-     * by instances of the board class generated from teh ComputerPlayer when determining the best
-     * move to play. The constructor calls a helper method to set up the wrapped instance of Javafx
-     * circle.
-     */
-    public OthelloPiece(int arrayYPos, int arrayXPos, boolean isBlack) {
-        this.setUpPiece(arrayYPos, arrayXPos, isBlack);
-    }
-
     /**
      * This method sets up an instance of Javafx circle that is wrapped by every instance of
-     * OthelloPiece. If the Pane instance variable has been initialized, the circle is added to
-     * the pane.
+     * OthelloPiece, and adds the circle to the pane.
      */
     private void setUpPiece(int arrayYPos, int arrayXPos, boolean isBlack) {
-        this.piece=new Circle(arrayXPos*Constants.SQUARE_DIM+Constants.SQUARE_DIM/2,
-                arrayYPos*Constants.SQUARE_DIM+Constants.SQUARE_DIM/2, Constants.PIECE_RADIUS);
+        this.piece=new Circle(arrayXPos*ViewConstants.SQUARE_DIM+ViewConstants.SQUARE_DIM/2,
+                arrayYPos*ViewConstants.SQUARE_DIM+ViewConstants.SQUARE_DIM/2, ViewConstants.PIECE_RADIUS);
         if (isBlack) {
             this.piece.setFill(Color.BLACK);
         } else {
             this.piece.setFill(Color.WHITE);
         }
-        if (this.pane!=null) {
-            this.pane.getChildren().add(this.piece);
-        }
+        this.pane.getChildren().add(this.piece);
         this.isBlack=isBlack;
     }
 
@@ -67,22 +51,32 @@ public class OthelloPiece {
     }
 
     /**
-     * This method is responsible for "flipping" an OthelloPiece. The method does this graphically
-     * through an animation, and then logically updates the instance variable associated with the piece
-     * color to reflect this change logically.
+     * This method is responsible for "flipping" an OthelloPiece. The method logically updates the
+     * instance variable associated with the piece color, and returns the KeyValue which graphically
+     * fades the circle to its new color. The Board plays the KeyValues of every piece flipped by a move
+     * together in one shared animation, rather than giving each piece a Timeline of its own.
      */
-    public void flipPiece() {
-        Color newColor;
-        if (this.isBlack) {
-            newColor = Color.WHITE;
-        } else {
-            newColor=Color.BLACK;
-        }
-        KeyFrame kf = new KeyFrame(Duration.seconds(0.4), new KeyValue(this.piece.fillProperty(), newColor));
-        Timeline timeline = new Timeline(kf);
-        timeline.setCycleCount(1);
-        timeline.play();
+    public KeyValue flipPiece() {
         this.isBlack=!this.isBlack;
+        return new KeyValue(this.piece.fillProperty(), this.getColor());
+    }
+
+    /**
+     * This method shows the piece in its current color straight away. The Board calls it when the
+     * animation of a flip is cut short, either by the next move or by the game being reset, so that the
+     * circle never stays halfway between black and white.
+     */
+    public void showColor() {
+        this.piece.setFill(this.getColor());
+    }
+
+    /**
+     * This helper method returns the Javafx color of the piece.
+     */
+    private Color getColor() {
+        if (this.isBlack) {
+            return Color.BLACK;
+        } return Color.WHITE;
     }
 
     /**
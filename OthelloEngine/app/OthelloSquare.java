@@ -1,20 +1,19 @@
 package othello;
 
+import javafx.animation.KeyValue;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
 /**
  * This class is responsible for wrapping an instance of Javafx Rectangle. Instances of this class
- * represent one square in the 2d array of OthelloSquare which make up the Board. Most of this
- * class is responsible for graphically updating the game after a move is played, but some methods
- * have been overloaded to eliminate the need for a Pane parameter to allow the ComputerPlayer
- * to accurately update the state of hypothetical boards.
+ * represent one square in the 2d array of OthelloSquare which make up the Board. This class is
+ * responsible for graphically updating the game after a move is played. The ComputerPlayer never
+ * uses OthelloSquares, since it searches hypothetical BitBoards instead.
  */
 public class OthelloSquare {
     private OthelloPiece piece;
     private Rectangle gameSquare;
-    private int value;
     private Pane pane;
     private int arrayXPos;
     private int arrayYPos;
@@ -33,58 +32,26 @@ public class OthelloSquare {
         this.setUpSquare(color);
     }
 
-    /**
-     * This constructor for OthelloSquare does not take in a Pane, and thus is used by the ComputerPlayer
-     * when creating hypothetical boards when determining the best move to play. This constructor only
-     * initializes the two instance variables corresponding to this OthelloSquare's position in the
-     * board 2d array.
-     */
-    public OthelloSquare(int arrayXPos, int arrayYPos) {
-        this.arrayXPos=arrayXPos;
-        this.arrayYPos=arrayYPos;
-    }
-
     /**
      * This method graphically sets up the OthelloSquare and adds it to the Pane in the center of the
      * BorderPane.
      */
     private void setUpSquare(Color color) {
-        this.gameSquare=new Rectangle(this.arrayXPos*Constants.SQUARE_DIM,this.arrayYPos*Constants.SQUARE_DIM,
-                Constants.SQUARE_DIM, Constants.SQUARE_DIM);
+        this.gameSquare=new Rectangle(this.arrayXPos*ViewConstants.SQUARE_DIM,this.arrayYPos*ViewConstants.SQUARE_DIM,
+                ViewConstants.SQUARE_DIM, ViewConstants.SQUARE_DIM);
         this.gameSquare.setFill(color);
         this.gameSquare.setStroke(Color.BLACK);
 
         this.pane.getChildren().add(this.gameSquare);
     }
 
-    /**
-     * This method is called by the Board class to assign each non-border OthelloSquare a positional
-     * value used by the ComputerPlayer when calculating the best move.
-     */
-    public void setValue(int value) {
-        this.value=value;
-    }
-
-    /**
-     * This is a getter method for the value instance variable, and is used by the ComputerPlayer
-     * when calculating the positional advantage in potential boards to determine the best
-     * possible move.
-     */
-    public int getValue() {
-        return this.value;
-    }
-
     /**
      * This method is called by the Board class whenever a Player determines that they would like to
      * play a piece. The method causes the OthelloSquare that the player would like to place a piece
      * in to initialize an instance of OthelloPiece as an instance variable.
      */
     public void createPiece(boolean isBlack) {
-        if (this.pane!=null) {
-            this.piece = new OthelloPiece(this.arrayYPos, this.arrayXPos, isBlack, this.pane);
-        } else {
-            this.piece=new OthelloPiece(this.arrayYPos, this.arrayXPos, isBlack);
-        }
+        this.piece = new OthelloPiece(this.arrayYPos, this.arrayXPos, isBlack, this.pane);
     }
 
     /**
@@ -106,10 +73,21 @@ public class OthelloSquare {
     /**
      * This method is called by the Board class, and causes the instance of OthelloPiece stored as an
      * instance variable for this particular OthelloSquare to flip. The functionality of a piece
-     * flipping is delegated to the OthelloPiece class.
+     * flipping is delegated to the OthelloPiece class, and the KeyValue animating the flip is returned
+     * so the Board can play it along with the other flips of the move.
      */
-    public void flipPiece() {
-        this.piece.flipPiece();
+    public KeyValue flipPiece() {
+        return this.piece.flipPiece();
+    }
+
+    /**
+     * This method is called by the Board class when the animation of a flip is cut short, and shows the
+     * piece in its final color straight away.
+     */
+    public void showPieceColor() {
+        if (this.piece!=null) {
+            this.piece.showColor();
+        }
     }
 
     /**
@@ -117,14 +95,14 @@ public class OthelloSquare {
      * indicating that it is a valid move for the current player's turn.
      */
     public void setValidMove() {
-        this.gameSquare.setFill(Constants.VALID_MOVE_COLOR);
+        this.gameSquare.setFill(ViewConstants.VALID_MOVE_COLOR);
     }
 
     /**
      * This method returns an OthelloSquare's color to its original color.
      */
     public void resetSquareColor() {
-        this.gameSquare.setFill(Constants.SQUARE_DEFAULT_COLOR);
+        this.gameSquare.setFill(ViewConstants.SQUARE_DEFAULT_COLOR);
     }
 
     /**
@@ -132,7 +110,7 @@ public class OthelloSquare {
      * the position where the opposing player last played by highlighting the square blue.
      */
     public void setLastMove() {
-        this.gameSquare.setFill(Constants.LAST_MOVE_COLOR);
+        this.gameSquare.setFill(ViewConstants.LAST_MOVE_COLOR);
     }
 
     /**
@@ -10,15 +10,15 @@ package othello;
  * game ends.
  */
 public abstract class Player {
-    private Board board;
+    private GameState gameState;
     private boolean isBlack;
     private Referee ref;
 
     /**
      * The constructor for the Player class initializes relevant instance variables.
      */
-    public Player(Board board, boolean isBlack, Referee ref) {
-        this.board=board;
+    public Player(GameState gameState, boolean isBlack, Referee ref) {
+        this.gameState=gameState;
         this.isBlack=isBlack;
         this.ref=ref;
     }
@@ -44,13 +44,11 @@ public abstract class Player {
     /**
      * This method is a commonality factored out of HumanPlayer and ComputerPlayer. Because
      * both players place their piece on the board in the exact same way, this method can
-     * be factored out into the superclass.
+     * be factored out into the superclass. The piece is placed in the GameState, which flips the
+     * sandwiched pieces and tells the Board to display the move.
      */
     public void placePiece(int arrayXPos, int arrayYPos) {
-        this.board.placePiece(arrayXPos, arrayYPos, this.isBlack);
-        this.board.checkFlipPieces(arrayXPos, arrayYPos, this.isBlack);
-        this.board.resetBoardSquareColors();
-        this.board.highlightLastMove();
+        this.gameState.placePiece(arrayXPos, arrayYPos, this.isBlack);
         this.ref.updateTurnTracker();
     }
 
@@ -62,6 +60,46 @@ public abstract class Player {
      */
     public abstract boolean isHuman();
 
+    /**
+     * This method is called by the referee when the game is reset, and stops a player from playing
+     * a move it was in the middle of choosing.
+     */
+    public abstract void cancelMove();
+
+    /**
+     * This method is called by the referee when the game is reset, once the player has stopped choosing
+     * a move, and the player is about to be replaced. It releases anything the player holds on to which
+     * would outlive it. A human player holds on to nothing, so this method does nothing unless it is
+     * overridden.
+     */
+    public void discard() {
+    }
+
+    /**
+     * This method is used by the referee to display the result of the game with perfect play, once a
+     * player has proven it. The method returns a description of the result, such as "Black wins by 4",
+     * or null if the player has not proven the result of the game.
+     */
+    public abstract String getProvenResult();
+
+    /**
+     * This method returns a short description of the player, such as "Human", which the referee saves
+     * with the moves of every finished game.
+     */
+    public abstract String getName();
+
+    /**
+     * This method is used by the referee to let a player think on the opponent's time, which it only
+     * does when the opponent is human.
+     */
+    public abstract void setPondering(boolean pondering);
+
+    /**
+     * This method is used by the referee to display how a player found its last move, such as how deep
+     * it searched and how long it took. The method returns null if the player does not search.
+     */
+    public abstract String getSearchSummary();
+
 
 
 }
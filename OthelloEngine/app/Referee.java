@@ -0,0 +1,293 @@
+package othello;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import javafx.animation.PauseTransition;
+import javafx.event.ActionEvent;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+
+/**
+ * The Referee class is responsible for instantiating the proper Players to play a game of Othello,
+ * as determined by the inputs from the user in the controls VBox. This class also makes decisions
+ * regarding how the game should proceed given information of the current state of the board, and saves
+ * every finished game to a game file. Turns are driven by the moves themselves: as soon as a player
+ * places a piece, the referee updates the game and asks the next player to move, so the game never
+ * waits on a timer, and nothing runs on the Javafx application thread while a human is thinking.
+ */
+public class Referee {
+    private Player white;
+    private Player black;
+    private BoardView board;
+    private GameState gameState;
+    private int turnTracker;
+    private int whiteScore;
+    private int blackScore;
+    private Label whiteScoreLabel;
+    private Label blackScoreLabel;
+    private Label turnLabel;
+    private Label statisticsLabel;
+    private PauseTransition moveDelay;
+    private Pane pane;
+
+    /**
+     * The constructor for the Referee class sets up all the instance variables relevant to keeping track
+     * of the state of the game, and calls helper methods to set up players and additional functionality
+     * to begin the game.
+     */
+    public Referee(int whitePlayerMode, int blackPlayerMode, int whiteSearchMode, int blackSearchMode,
+                   GameState gameState, BoardView board, Pane pane, Label whiteScore, Label blackScore,
+                   Label turnLabel, Label statisticsLabel) {
+        this.pane=pane;
+        this.gameState=gameState;
+        this.board=board;
+        this.turnTracker=1;
+        this.whiteScore=2;
+        this.blackScore=2;
+        this.whiteScoreLabel=whiteScore;
+        this.blackScoreLabel=blackScore;
+        this.turnLabel=turnLabel;
+        this.statisticsLabel=statisticsLabel;
+
+        this.setUpReferee(whitePlayerMode, blackPlayerMode, whiteSearchMode, blackSearchMode, pane);
+    }
+
+    /**
+     * This helper method factors out the many helper methods called in the constructor of Referee
+     * for better readability. These helper methods set up both Players, the TurnLabel, and the
+     * PauseTransition responsible for creating delay between computer moves, and then ask white for the
+     * first move. A ComputerPlayer playing against a human is allowed to ponder.
+     */
+    private void setUpReferee(int whitePlayerMode, int blackPlayerMode, int whiteSearchMode,
+                              int blackSearchMode, Pane pane) {
+        this.setUpWhite(whitePlayerMode, whiteSearchMode, pane);
+        this.setUpBlack(blackPlayerMode, blackSearchMode, pane);
+        this.white.setPondering(Constants.PONDER && this.black.isHuman());
+        this.black.setPondering(Constants.PONDER && this.white.isHuman());
+        this.setUpMoveDelay();
+        this.updateTurnLabel();
+        this.startTurn();
+    }
+
+    /**
+     * This helper method is responsible for setting up the PauseTransition which creates delay between
+     * the moves of a ComputerPlayer, so that the flip animations of one move can finish before the next
+     * move is played. The delay is MIN_MOVE_DELAY_MILLIS in the ViewConstants class, and with no delay
+     * a Computer vs Computer game runs as fast as the engines can search.
+     */
+    private void setUpMoveDelay() {
+        this.moveDelay=new PauseTransition(Duration.millis(ViewConstants.MIN_MOVE_DELAY_MILLIS));
+        this.moveDelay.setOnFinished((ActionEvent e) -> this.startTurn());
+    }
+
+    /**
+     * This method instantiates the player with the white pieces, given the choices the user
+     * selected from the Controls VBox.
+     */
+    private void setUpWhite(int whitePlayerMode, int whiteSearchMode, Pane pane) {
+        if (whitePlayerMode==0) {
+            this.white=new HumanPlayer(this.gameState, false, pane, this.board, this);
+        } else {
+            this.white=new ComputerPlayer(whitePlayerMode, whiteSearchMode, this.gameState, false, this);
+        }
+    }
+
+    /**
+     * This method instantiates the Player with the black pieces, given the choices the user selected
+     * from the Controls VBox.
+     */
+    private void setUpBlack(int blackPlayerMode, int blackSearchMode, Pane pane) {
+        if (blackPlayerMode==0) {
+            this.black=new HumanPlayer(this.gameState, true, pane, this.board, this);
+        } else {
+            this.black=new ComputerPlayer(blackPlayerMode, blackSearchMode, this.gameState, true, this);
+        }
+    }
+
+    /**
+     * This method is responsible for the turn taking functionality of the game. The method tells the
+     * player whose turn it is to make a move, and is called once at the start of the game and then
+     * each time the previous move has been played. This method also highlights all the valid moves if
+     * the player taking their turn is human to help the user place their piece. The player plays its
+     * move whenever it is ready, by clicking or once its search has finished, and the referee hears
+     * about it through updateTurnTracker().
+     */
+    private void startTurn() {
+        Player player = this.white;
+        if (this.turnTracker==-1) {
+            player = this.black;
+        }
+        if (player.isHuman()) {
+            this.board.highlightValidMoves(this.turnTracker==-1);
+        }
+        player.makeMove();
+    }
+
+    /**
+     * This method is called by the Players when they have finished making their move, and helps the
+     * referee to manage turn taking. The turn passes to the other player and the game is updated
+     * straight away.
+     */
+    public void updateTurnTracker() {
+        this.turnTracker=this.turnTracker*-1;
+        this.updateGame();
+    }
+
+    /**
+     * This method is called whenever a Player places a new piece on the board. The method
+     * updates all relevant Panes existing in the controls VBox with new information about the
+     * board, and checks whether the game has ended or whether a player needs to repeat a turn. If the
+     * game is still going, the next turn is scheduled.
+     */
+    private void updateGame() {
+        this.updateScoreLabel();
+        this.updateTurnLabel();
+        this.updateStatisticsLabel();
+        if (this.gameState.checkGameOver()) {
+            this.endGame();
+            return;
+        } if (this.gameState.checkPlayerRepeatTurn(this.turnTracker==-1)) {
+            this.turnTracker=this.turnTracker*-1;
+        }
+        this.scheduleTurn();
+    }
+
+    /**
+     * This helper method starts the next turn. A human's turn starts straight away. A ComputerPlayer's
+     * turn starts once the PauseTransition has waited for the minimum delay between moves, or straight
+     * away if there is no delay, so that a Computer vs Computer game runs at the speed of the engines.
+     */
+    private void scheduleTurn() {
+        Player player = this.white;
+        if (this.turnTracker==-1) {
+            player = this.black;
+        }
+        if (player.isHuman() || ViewConstants.MIN_MOVE_DELAY_MILLIS<=0) {
+            this.startTurn();
+        } else {
+            this.moveDelay.playFromStart();
+        }
+    }
+
+    /**
+     * This method updates the Label displaying each of the player's score in the Controls Vbox.
+     * The method is called after either player makes a move to update the Labels to reflect
+     * the new board state.
+     */
+    private void updateScoreLabel() {
+        this.whiteScore=this.gameState.countPieces(false);
+        this.blackScore=this.gameState.countPieces(true);
+        this.whiteScoreLabel.setText("White: "+this.whiteScore);
+        this.blackScoreLabel.setText("Black: "+this.blackScore);
+    }
+
+    /**
+     * This method updates the Label displaying information on which player's turn it is to the user.
+     * The method is called after either player places a piece to reflect new information about
+     * the state of the game. If the player who moved last has proven the result of the game by solving
+     * the endgame, the result is displayed as well.
+     */
+    private void updateTurnLabel() {
+        if (this.turnTracker==1) {
+            this.turnLabel.setText("White to Move"+this.describeProvenResult(this.black));
+        } else {
+            this.turnLabel.setText("Black to Move"+this.describeProvenResult(this.white));
+        }
+    }
+
+    /**
+     * This method updates the Label displaying how the player who moved last found their move, if that
+     * player is a ComputerPlayer. After a human player's move, the Label keeps describing the last move
+     * of the ComputerPlayer, if there is one.
+     */
+    private void updateStatisticsLabel() {
+        Player lastPlayer = this.white;
+        if (this.turnTracker==1) {
+            lastPlayer = this.black;
+        }
+        String searchSummary = lastPlayer.getSearchSummary();
+        if (searchSummary!=null) {
+            this.statisticsLabel.setText(searchSummary);
+        }
+    }
+
+    /**
+     * This helper method returns a line describing the result a player has proven with perfect play,
+     * or an empty String if the player has not proven the result.
+     */
+    private String describeProvenResult(Player player) {
+        String provenResult = player.getProvenResult();
+        if (provenResult==null) {
+            return "";
+        } return "\nProven: "+provenResult;
+    }
+
+    /**
+     * This method resets the Label displaying information about the current player's turn to its
+     * original state once the reset button has been pressed.
+     */
+    private void resetTurnLabel() {
+        this.turnLabel.setText("");
+    }
+
+    /**
+     * This method is called whenever the reset button is pressed. The method cancels any move a player
+     * is in the middle of choosing, delegates resetting the board to the GameState, which the Board
+     * redraws itself from, and then resets all instance variables and other information about the state
+     * of the game managed in the referee class. The players are discarded, since new players are
+     * created for the next game.
+     */
+    public void resetGame() {
+        this.moveDelay.stop();
+        this.white.cancelMove();
+        this.black.cancelMove();
+        this.gameState.resetGame();
+        this.resetTurnLabel();
+        this.statisticsLabel.setText("");
+        this.updateScoreLabel();
+        this.pane.setOnMouseClicked(null);
+        this.white.discard();
+        this.black.discard();
+        this.white=null;
+        this.black=null;
+    }
+
+    /**
+     * This method is called whenever the Game has ended. The method stops both players from
+     * placing pieces, and updates the turn Label to display the winner of the game, or whether
+     * it was a draw.
+     */
+    private void endGame() {
+        this.white.editGameRunning(false);
+        this.black.editGameRunning(false);
+        if (this.whiteScore>this.blackScore) {
+            this.turnLabel.setText("Game Over. White wins");
+        } if (this.blackScore>this.whiteScore) {
+            this.turnLabel.setText("Game Over. Black wins");
+        } if (this.whiteScore==this.blackScore) {
+            this.turnLabel.setText("Game Over. It's a Draw");
+        }
+        this.saveGame();
+    }
+
+    /**
+     * This helper method adds the finished game, with the names of both players, to the end of the
+     * game file named by GAME_RECORD_FILE in the Constants class. Saving is skipped if there is no file
+     * name, and a game that cannot be saved is reported without stopping the game.
+     */
+    private void saveGame() {
+        if (Constants.GAME_RECORD_FILE==null) {
+            return;
+        }
+        GameRecord gameRecord = this.gameState.getGameRecord(this.black.getName(), this.white.getName());
+        try (GameRecordWriter gameWriter = new GameRecordWriter(Paths.get(Constants.GAME_RECORD_FILE),
+                true)) {
+            gameWriter.writeGame(gameRecord);
+        } catch (IOException e) {
+            System.err.println("Could not save the game to "+Constants.GAME_RECORD_FILE+": "
+                    +e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package othello;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+
+/**
+ * This class is responsible for setting up the Othello game. It achieves this primarily by creating
+ * new instances of the GameState, BoardView, Referee, and Controls class. It can also replay the last
+ * game saved in the game file on the BoardView while no game is being played.
+ */
+public class SetupGame {
+    private Controls controls;
+    private GameState gameState;
+    private BoardView board;
+    private Referee referee;
+    private BoardReplay replay;
+    private Pane pane;
+
+    /**
+     * The constructor for the SetupGame class. The constructor is called by the PaneOrganizer class
+     * to being setting up the Game. The constructor's main roles is to create a new instance
+     * of the Controls class by passing in itself as a parameter, and to also create the BoardView which
+     * displays the GameState holding the actual game, so that the Othello board can be seen by the user.
+     * The board is drawn on a CanvasBoard if CANVAS_BOARD in the ViewConstants class is true, and is
+     * built out of OthelloSquares by a Board otherwise.
+     */
+    public SetupGame(Pane gamePane){
+        this.pane=gamePane;
+        this.controls=new Controls(this);
+        this.gameState=new GameState();
+        if (ViewConstants.CANVAS_BOARD) {
+            this.board=new CanvasBoard(this.pane, this.gameState, ViewConstants.CANVAS_SQUARE_DIM);
+        } else {
+            this.board=new Board(this.pane, this.gameState);
+        }
+
+    }
+
+    /**
+     * This is a getter method for the controls VBox created by the instance of the Controls
+     * class which was instantiated in the constructor of SetupGame. This method is called by
+     * PaneOrganizer to add the controls VBox to the BorderPane root node.
+     */
+    public Controls getControls() {
+        return this.controls;
+    }
+
+    /**
+     * This method is responsible for creating a new instance of the Referee class, which oversees the
+     * Players, turn taking, and other important information about the state of the Othello board. The
+     * method is called when the "Apply Settings" button, existing in the controls VBox, is clicked. A
+     * replay still running is stopped first, and the board goes back to the position of the GameState.
+     */
+    public void createPlayers(int whitePlayerMode, int blackPlayerMode, int whiteSearchMode,
+                              int blackSearchMode, Label whiteScore, Label blackScore, Label turnCounter,
+                              Label statisticsLabel) {
+
+        if (this.referee==null) {
+            this.stopReplay();
+            this.referee=new Referee(whitePlayerMode, blackPlayerMode, whiteSearchMode, blackSearchMode,
+                    this.gameState, this.board, this.pane, whiteScore, blackScore, turnCounter,
+                    statisticsLabel);
+        }
+    }
+
+    /**
+     * This method replays the last game in the game file named by GAME_RECORD_FILE in the Constants
+     * class on the BoardView, at REPLAY_MOVES_PER_SECOND in the ViewConstants class. Nothing is replayed
+     * while a game is being played, and a game file that cannot be read is reported without replaying.
+     */
+    public void replayLastGame() {
+        if (this.referee!=null || Constants.GAME_RECORD_FILE==null) {
+            return;
+        }
+        GameRecord lastGame = null;
+        try (GameRecordReader gameReader = new GameRecordReader(Paths.get(Constants.GAME_RECORD_FILE))) {
+            GameRecord nextGame = new GameRecord();
+            while (gameReader.readGame(nextGame)) {
+                GameRecord previousGame = lastGame;
+                lastGame = nextGame;
+                nextGame = previousGame==null ? new GameRecord() : previousGame;
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read the games in "+Constants.GAME_RECORD_FILE+": "+e.getMessage());
+            return;
+        }
+        if (lastGame!=null) {
+            this.stopReplay();
+            this.replay=new BoardReplay(this.board, lastGame, ViewConstants.REPLAY_MOVES_PER_SECOND);
+            this.replay.play();
+        }
+    }
+
+    /**
+     * This helper method stops the replay, if there is one, and shows the position of the GameState on
+     * the BoardView again.
+     */
+    private void stopReplay() {
+        if (this.replay!=null) {
+            this.replay.stop();
+            this.replay=null;
+            this.board.showPosition(this.gameState.getBitBoard(), -1);
+        }
+    }
+
+    /**
+     * This method returns information about the state of the Othello game, particularly whether the
+     * game has started or not, to the Controls class. The purpose of this method is to make
+     * sure that another Referee cannot be created while a game is currently unfolding.
+     */
+    public boolean gameStarted() {
+        if (this.referee!=null) {
+            return true;
+        } return false;
+    }
+
+    /**
+     * This method is used to reset the game when the Reset button, found in the Controls VBox, is
+     * clicked. The method delegates most of the logic of resetting the game to the instance of the
+     * Referee class, and then garbage collects the current instance of Referee to allow for
+     * players to change after a reset.
+     */
+    public void resetGame() {
+        this.referee.resetGame();
+        this.referee=null;
+    }
+}
@@ -0,0 +1,24 @@
+package othello;
+
+import javafx.scene.paint.Color;
+
+/**
+ * This class contains all the constants used to display the Othello game. The constants used by the
+ * engine itself are kept in the Constants class.
+ */
+public class ViewConstants {
+
+    public static final int CONTROLS_PANE_WIDTH = 250;
+    public static final int SQUARE_DIM=50;
+    public static final int PIECE_RADIUS=20;
+    public static final Color SQUARE_DEFAULT_COLOR = Color.DARKGREEN;
+    public static final Color VALID_MOVE_COLOR = Color.YELLOW;
+    public static final Color LAST_MOVE_COLOR = Color.BLUE;
+    public static final int BOARD_DIM=10;
+    public static final boolean SHOW_SEARCH_STATISTICS=true;
+    public static final int MIN_MOVE_DELAY_MILLIS=0;
+    public static final int FLIP_ANIMATION_MILLIS=400;
+    public static final boolean CANVAS_BOARD=false;
+    public static final int CANVAS_SQUARE_DIM=50;
+    public static final double REPLAY_MOVES_PER_SECOND=20;
+}
@@ -0,0 +1,87 @@
+package othello.bench;
+
+import java.util.ArrayList;
+import java.util.Random;
+import othello.BitBoard;
+
+/**
+ * This class creates the fixed suite of positions every benchmark runs on. The positions are made by
+ * playing random legal moves from the starting position with a fixed seed, so every run benchmarks the
+ * same positions. There are three phases of the game: the opening, where most of the board is empty,
+ * the middle game, and the endgame, where only a few empty squares are left.
+ */
+public class BenchmarkPositions {
+    public static final String OPENING = "opening";
+    public static final String MIDGAME = "midgame";
+    public static final String ENDGAME = "endgame";
+    public static final int POSITION_COUNT = 32;
+
+    private static final long SEED = 20240101L;
+
+    private BitBoard[] boards;
+    private boolean[] sidesToMove;
+
+    /**
+     * The constructor for the BenchmarkPositions class creates the positions for one phase of the game,
+     * which is one of OPENING, MIDGAME, or ENDGAME.
+     */
+    public BenchmarkPositions(String phase) {
+        int empties = BenchmarkPositions.getEmpties(phase);
+        Random random = new Random(SEED + empties);
+        ArrayList<BitBoard> boardList = new ArrayList<>();
+        ArrayList<Boolean> sideList = new ArrayList<>();
+        while (boardList.size()<POSITION_COUNT) {
+            BitBoard currBoard = BitBoard.startPosition();
+            boolean isBlack = false;
+            while (currBoard.countEmpty()>empties && !currBoard.checkGameOver()) {
+                long legalMoves = currBoard.getLegalMoves(isBlack);
+                if (legalMoves!=0) {
+                    for (int skip=random.nextInt(Long.bitCount(legalMoves)); skip>0; skip--) {
+                        legalMoves &= legalMoves-1;
+                    }
+                    currBoard.placePiece(Long.numberOfTrailingZeros(legalMoves), isBlack);
+                }
+                isBlack=!isBlack;
+            }
+            if (currBoard.getLegalMoves(isBlack)!=0) {
+                boardList.add(currBoard);
+                sideList.add(isBlack);
+            }
+        }
+        this.boards=boardList.toArray(new BitBoard[0]);
+        this.sidesToMove=new boolean[POSITION_COUNT];
+        for (int i=0; i<POSITION_COUNT; i++) {
+            this.sidesToMove[i]=sideList.get(i);
+        }
+    }
+
+    /**
+     * This helper method returns the number of empty squares left in the positions of a phase.
+     */
+    private static int getEmpties(String phase) {
+        switch (phase) {
+            case OPENING:
+                return 50;
+            case MIDGAME:
+                return 32;
+            case ENDGAME:
+                return 14;
+            default:
+                throw new IllegalArgumentException("Unknown phase "+phase);
+        }
+    }
+
+    /**
+     * This method returns the positions of this phase.
+     */
+    public BitBoard[] getBoards() {
+        return this.boards;
+    }
+
+    /**
+     * This method returns whether black is to move in each position of this phase.
+     */
+    public boolean[] getSidesToMove() {
+        return this.sidesToMove;
+    }
+}
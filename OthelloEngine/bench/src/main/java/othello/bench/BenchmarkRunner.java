@@ -0,0 +1,32 @@
+package othello.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class is the mainline of the benchmark jar. It runs the benchmarks with the GC profiler, so the
+ * allocation rate of each benchmark is reported alongside its throughput. Any arguments are passed on
+ * to JMH, so a single benchmark can be run with, for example, "SearchBenchmark -p depth=8".
+ *
+ * Usage: java -jar target/benchmarks.jar [JMH options]
+ */
+public class BenchmarkRunner {
+
+    /**
+     * This is the mainline, which parses the JMH options and runs the benchmarks.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include("othello\\.bench\\..*");
+        }
+        options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package othello.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import othello.BitBoard;
+import othello.PatternEvaluator;
+
+/**
+ * This class benchmarks the hot paths the search runs at every node: generating the legal moves,
+ * finding the pieces a move flips, playing and taking back a move, and scoring a board with each
+ * Evaluator. Every benchmark runs over the whole suite of positions for a phase of the game, so one
+ * operation is one pass over the suite.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+    @Param({BenchmarkPositions.OPENING, BenchmarkPositions.MIDGAME, BenchmarkPositions.ENDGAME})
+    private String phase;
+
+    private BitBoard[] boards;
+    private boolean[] sidesToMove;
+    private PatternEvaluator patternEvaluator;
+
+    /**
+     * This method creates the positions for the phase being benchmarked.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkPositions positions = new BenchmarkPositions(this.phase);
+        this.boards=positions.getBoards();
+        this.sidesToMove=positions.getSidesToMove();
+        this.patternEvaluator=new PatternEvaluator();
+    }
+
+    /**
+     * This benchmark generates the legal moves of every position, as BitBoard.getLegalMoves() does in
+     * place of Board.getALlLegalMoves().
+     */
+    @Benchmark
+    public long legalMoves() {
+        long moves=0L;
+        for (int i=0; i<this.boards.length; i++) {
+            moves ^= this.boards[i].getLegalMoves(this.sidesToMove[i]);
+        } return moves;
+    }
+
+    /**
+     * This benchmark finds the pieces flipped by every legal move of every position, as
+     * BitBoard.getFlips() does in place of Board.checkFlipPieces().
+     */
+    @Benchmark
+    public long flips() {
+        long flips=0L;
+        for (int i=0; i<this.boards.length; i++) {
+            long legalMoves=this.boards[i].getLegalMoves(this.sidesToMove[i]);
+            while (legalMoves!=0) {
+                flips ^= this.boards[i].getFlips(Long.numberOfTrailingZeros(legalMoves), this.sidesToMove[i]);
+                legalMoves &= legalMoves-1;
+            }
+        } return flips;
+    }
+
+    /**
+     * This benchmark plays and takes back every legal move of every position with makeMove() and
+     * undoMove(), which is how the search moves between nodes.
+     */
+    @Benchmark
+    public void makeUndo(Blackhole blackhole) {
+        for (int i=0; i<this.boards.length; i++) {
+            long legalMoves=this.boards[i].getLegalMoves(this.sidesToMove[i]);
+            while (legalMoves!=0) {
+                blackhole.consume(this.boards[i].makeMove(Long.numberOfTrailingZeros(legalMoves),
+                        this.sidesToMove[i]));
+                this.boards[i].undoMove();
+                legalMoves &= legalMoves-1;
+            }
+        }
+    }
+
+    /**
+     * This benchmark scores every position with BitBoard.calcBoardScore(), which matches
+     * Board.calcBoardScore().
+     */
+    @Benchmark
+    public int boardScore() {
+        int score=0;
+        for (int i=0; i<this.boards.length; i++) {
+            score+=this.boards[i].calcBoardScore(this.sidesToMove[i]);
+        } return score;
+    }
+
+    /**
+     * This benchmark scores every position with a PatternEvaluator, including its mobility and frontier
+     * terms.
+     */
+    @Benchmark
+    public int patternScore() {
+        int score=0;
+        for (int i=0; i<this.boards.length; i++) {
+            score+=this.patternEvaluator.evaluate(this.boards[i], this.sidesToMove[i]);
+        } return score;
+    }
+}
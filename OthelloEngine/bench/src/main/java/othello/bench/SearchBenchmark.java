@@ -0,0 +1,111 @@
+package othello.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import othello.BitBoard;
+import othello.Constants;
+import othello.Move;
+import othello.SearchEngine;
+import othello.TranspositionTable;
+
+/**
+ * This class benchmarks the SearchEngine, which ComputerPlayer uses to find its move, by searching every
+ * position in the suite for a phase of the game to a fixed depth. Besides the number of searches per
+ * second, the benchmark counts the nodes visited, which JMH reports as nodes per second. Each search
+ * takes long enough that clearing the TranspositionTable before every invocation does not distort the
+ * result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    @Param({BenchmarkPositions.OPENING, BenchmarkPositions.MIDGAME, BenchmarkPositions.ENDGAME})
+    private String phase;
+
+    @Param({"6"})
+    private int depth;
+
+    @Param({"2"})
+    private int searchMode;
+
+    @Param({"4"})
+    private int tableSizeMB;
+
+    private BitBoard[] boards;
+    private boolean[] sidesToMove;
+    private SearchEngine searchEngine;
+    private int nextPosition;
+
+    /**
+     * This class holds the node counter, which JMH divides by the time taken to report nodes per second,
+     * and the cutoff counters, whose ratio shows how often the first move searched caused the cutoff.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class NodeCounter {
+        public long nodes;
+        public long cutoffs;
+        public long firstMoveCutoffs;
+
+        /**
+         * This method resets the node count and the cutoff counts before every iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.nodes=0;
+            this.cutoffs=0;
+            this.firstMoveCutoffs=0;
+        }
+    }
+
+    /**
+     * This method creates the positions for the phase being benchmarked, and the SearchEngine that
+     * searches them.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkPositions positions = new BenchmarkPositions(this.phase);
+        this.boards=positions.getBoards();
+        this.sidesToMove=positions.getSidesToMove();
+        this.searchEngine=new SearchEngine(this.searchMode,
+                new TranspositionTable(this.tableSizeMB, Constants.TT_REPLACEMENT_POLICY));
+    }
+
+    /**
+     * This method empties the TranspositionTable before every search. The suite is searched over and
+     * over, so otherwise every search after the first pass would be answered by the table.
+     */
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        this.searchEngine.getTranspositionTable().clear();
+    }
+
+    /**
+     * This benchmark searches the next position of the suite to a fixed depth.
+     */
+    @Benchmark
+    public Move search(NodeCounter counter) {
+        int i=this.nextPosition;
+        this.nextPosition=(i+1)%this.boards.length;
+        Move bestMove=this.searchEngine.getBestMove(this.boards[i], this.depth, this.sidesToMove[i]);
+        counter.nodes+=this.searchEngine.getNodeCount();
+        counter.cutoffs+=this.searchEngine.getCutoffCount();
+        counter.firstMoveCutoffs+=this.searchEngine.getFirstMoveCutoffCount();
+        return bestMove;
+    }
+}
@@ -0,0 +1,434 @@
+package othello;
+
+/**
+ * This class is a headless representation of an Othello position that is used by the ComputerPlayer
+ * when searching for the best move to play. Instead of a 2d array of OthelloSquares, the position is
+ * stored as two 64 bit longs, one for the black pieces and one for the white pieces. Each playable
+ * square on the Board maps to one bit, where the square at (arrayXPos, arrayYPos) in the Board's 10x10
+ * array is stored at bit (arrayYPos-1)*8 + (arrayXPos-1). Because copying a position only requires
+ * copying two longs, the ComputerPlayer can analyze far more hypothetical boards than it could with
+ * copies of the Board displayed on screen.
+ *
+ * During a search, the SearchEngine does not copy the BitBoard at all. Instead it plays each move in
+ * place with makeMove(), and takes it back with undoMove() once the move has been searched. Every move
+ * made is recorded on an undo stack, which stores the square played, the player who played it, the
+ * pieces it flipped and the hash before the move. The stack is allocated once, the first time a move is
+ * made, and is large enough for every move of a game, so searching does not create any objects.
+ *
+ * The BitBoard also keeps the Zobrist hash of its pieces, which is updated from the square played and
+ * the pieces flipped whenever a piece is placed, so the SearchEngine gets the key of every position it
+ * reaches without hashing the whole board.
+ */
+public class BitBoard {
+    /*
+     * The shift amounts and wrap masks for the eight directions a sandwich can be formed in. Shifting
+     * a bitboard left by one moves every piece one square to the right, so the mask removes any piece
+     * which wrapped around onto the opposite edge of the board.
+     */
+    private static final int[] DIRECTION_SHIFTS = {1, -1, 8, -8, 9, -9, 7, -7};
+    private static final long NOT_LEFT_COLUMN = 0xfefefefefefefefeL;
+    private static final long NOT_RIGHT_COLUMN = 0x7f7f7f7f7f7f7f7fL;
+    private static final long[] DIRECTION_MASKS = {NOT_LEFT_COLUMN, NOT_RIGHT_COLUMN, -1L, -1L,
+            NOT_LEFT_COLUMN, NOT_RIGHT_COLUMN, NOT_RIGHT_COLUMN, NOT_LEFT_COLUMN};
+    private static final int[] SQUARE_VALUES = BitBoard.setUpSquareValues();
+    private static final int UNDO_STACK_SIZE = 64;
+    private static final int BLACK_MOVE_FLAG = 64;
+
+    public static final int SYMMETRIES = 8;
+
+    private long black;
+    private long white;
+    private long piecesHash;
+    private long[] undoFlips;
+    private long[] undoHashes;
+    private int[] undoMoves;
+    private int undoCount;
+
+    /**
+     * This constructor creates a BitBoard from the two longs representing the black and white pieces.
+     */
+    public BitBoard(long black, long white) {
+        this.black=black;
+        this.white=white;
+        this.piecesHash=Zobrist.hashPieces(black, white);
+    }
+
+    /**
+     * This constructor makes a copy of another BitBoard, allowing the ComputerPlayer to test out
+     * potential moves without changing the original position.
+     */
+    public BitBoard(BitBoard currBoard) {
+        this.black=currBoard.black;
+        this.white=currBoard.white;
+        this.piecesHash=currBoard.piecesHash;
+    }
+
+    /**
+     * This method returns a BitBoard containing the four starting pieces, matching the position
+     * the Board sets up on screen at the start of a game.
+     */
+    public static BitBoard startPosition() {
+        return new BitBoard(BitBoard.toMask(4, 4) | BitBoard.toMask(5, 5),
+                BitBoard.toMask(5, 4) | BitBoard.toMask(4, 5));
+    }
+
+    /**
+     * This helper method flattens the positional advantage values in Constants into an array indexed
+     * by square, so that the score of a board can be calculated by looping over its set bits.
+     */
+    private static int[] setUpSquareValues() {
+        int[] values = new int[64];
+        for (int square=0; square<64; square++) {
+            values[square]=Constants.SQUARE_VALUES[square/8][square%8];
+        }
+        return values;
+    }
+
+    /**
+     * This method converts a position in the Board's 10x10 array of OthelloSquares into the index of
+     * the matching bit.
+     */
+    public static int toSquare(int arrayXPos, int arrayYPos) {
+        return (arrayYPos-1)*8 + (arrayXPos-1);
+    }
+
+    /**
+     * This method converts a position in the Board's 10x10 array of OthelloSquares into a long with
+     * only the matching bit set.
+     */
+    public static long toMask(int arrayXPos, int arrayYPos) {
+        return 1L << BitBoard.toSquare(arrayXPos, arrayYPos);
+    }
+
+    /**
+     * This method converts the index of a bit back into the X position in the Board's array.
+     */
+    public static int getArrayXPos(int square) {
+        return square%8 + 1;
+    }
+
+    /**
+     * This method converts the index of a bit back into the Y position in the Board's array.
+     */
+    public static int getArrayYPos(int square) {
+        return square/8 + 1;
+    }
+
+    /**
+     * This method creates a BitBoard from a String of 64 characters, one for each square in the same
+     * order as the bits, where 'X' or 'B' is a black piece, 'O' or 'W' is a white piece, and '-' or '.' is
+     * an empty square. Whitespace is ignored, so the board can be written as eight rows.
+     */
+    public static BitBoard fromString(String position) {
+        long black=0L;
+        long white=0L;
+        int square=0;
+        for (char c: position.toCharArray()) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            } if (square==64) {
+                throw new IllegalArgumentException("Too many squares in position: "+position);
+            }
+            char piece=Character.toUpperCase(c);
+            if (piece=='X' || piece=='B') {
+                black |= 1L << square;
+            } else if (piece=='O' || piece=='W') {
+                white |= 1L << square;
+            } else if (piece!='-' && piece!='.') {
+                throw new IllegalArgumentException("Unknown square '"+c+"' in position: "+position);
+            }
+            square++;
+        }
+        if (square!=64) {
+            throw new IllegalArgumentException("Too few squares in position: "+position);
+        } return new BitBoard(black, white);
+    }
+
+    /**
+     * This method returns the position as 64 characters in the format read by fromString(), with 'X'
+     * for black pieces, 'O' for white pieces and '-' for empty squares.
+     */
+    @Override
+    public String toString() {
+        StringBuilder position = new StringBuilder(64);
+        for (int square=0; square<64; square++) {
+            if ((this.black & (1L << square))!=0) {
+                position.append('X');
+            } else if ((this.white & (1L << square))!=0) {
+                position.append('O');
+            } else {
+                position.append('-');
+            }
+        } return position.toString();
+    }
+
+    /**
+     * This method returns the square a particular square is moved to by one of the eight symmetries of
+     * the board. Symmetry 0 leaves the board unchanged, 1 and 2 mirror it horizontally and vertically,
+     * 3 rotates it by 180 degrees, 4 and 7 reflect it in the two diagonals, and 5 and 6 rotate it by
+     * 90 degrees clockwise and anticlockwise.
+     */
+    public static int transformSquare(int square, int symmetry) {
+        int x=square%8;
+        int y=square/8;
+        switch (symmetry) {
+            case 1:
+                return y*8 + (7-x);
+            case 2:
+                return (7-y)*8 + x;
+            case 3:
+                return (7-y)*8 + (7-x);
+            case 4:
+                return x*8 + y;
+            case 5:
+                return x*8 + (7-y);
+            case 6:
+                return (7-x)*8 + y;
+            case 7:
+                return (7-x)*8 + (7-y);
+            default:
+                return square;
+        }
+    }
+
+    /**
+     * This method returns the symmetry which undoes a particular symmetry. Every symmetry is its own
+     * inverse, except for the two 90 degree rotations, which undo each other.
+     */
+    public static int inverseSymmetry(int symmetry) {
+        if (symmetry==5) {
+            return 6;
+        } if (symmetry==6) {
+            return 5;
+        } return symmetry;
+    }
+
+    /**
+     * This method returns a new BitBoard holding this position after applying one of the eight
+     * symmetries of the board. Since the rules of Othello are the same in every orientation, the new
+     * position has the same value as this one, and its moves are the transformed moves of this one. The
+     * pieces are moved a whole bitboard at a time by the Symmetry class.
+     */
+    public BitBoard transform(int symmetry) {
+        return new BitBoard(Symmetry.transform(this.black, symmetry),
+                Symmetry.transform(this.white, symmetry));
+    }
+
+    /**
+     * This helper method shifts every piece in a bitboard one square in a particular direction, and
+     * removes any pieces that wrapped around the edge of the board.
+     */
+    private static long shift(long pieces, int direction) {
+        int shiftAmount=DIRECTION_SHIFTS[direction];
+        if (shiftAmount>0) {
+            return (pieces << shiftAmount) & DIRECTION_MASKS[direction];
+        } return (pieces >>> -shiftAmount) & DIRECTION_MASKS[direction];
+    }
+
+    /**
+     * This method returns the long holding the black pieces.
+     */
+    public long getBlack() {
+        return this.black;
+    }
+
+    /**
+     * This method returns the long holding the white pieces.
+     */
+    public long getWhite() {
+        return this.white;
+    }
+
+    /**
+     * This method returns the Zobrist hash of the pieces on the board, without the number for the player
+     * to move, which Zobrist.hash() adds.
+     */
+    public long getPiecesHash() {
+        return this.piecesHash;
+    }
+
+    /**
+     * This method returns the pieces belonging to a particular player.
+     */
+    public long getPieces(boolean isBlack) {
+        if (isBlack) {
+            return this.black;
+        } return this.white;
+    }
+
+    /**
+     * This method returns a long with a bit set for every empty square on the board.
+     */
+    public long getEmpty() {
+        return ~(this.black | this.white);
+    }
+
+    /**
+     * This method returns the same integer that OthelloSquare.checkPiece() does for the square at a
+     * particular position: 0 for an empty square, 1 for a white piece, and -1 for a black piece.
+     */
+    public int checkPiece(int arrayXPos, int arrayYPos) {
+        long mask=BitBoard.toMask(arrayXPos, arrayYPos);
+        if ((this.black & mask)!=0) {
+            return -1;
+        } if ((this.white & mask)!=0) {
+            return 1;
+        } return 0;
+    }
+
+    /**
+     * This method returns a long with a bit set for every legal move a particular player has in the
+     * current position. Rather than checking each square individually, the method shifts the player's
+     * pieces across runs of opposing pieces in each direction at once, and any run that ends on an
+     * empty square marks a legal move.
+     */
+    public long getLegalMoves(boolean isBlack) {
+        long player=this.getPieces(isBlack);
+        long opponent=this.getPieces(!isBlack);
+        long empty=this.getEmpty();
+        long moves=0L;
+        for (int direction=0; direction<8; direction++) {
+            long run=BitBoard.shift(player, direction) & opponent;
+            for (int i=0; i<5; i++) {
+                run |= BitBoard.shift(run, direction) & opponent;
+            }
+            moves |= BitBoard.shift(run, direction) & empty;
+        } return moves;
+    }
+
+    /**
+     * This method returns a long with a bit set for every piece that would be flipped if a particular
+     * player played on a particular square. The square is assumed to be empty.
+     */
+    public long getFlips(int square, boolean isBlack) {
+        long player=this.getPieces(isBlack);
+        long opponent=this.getPieces(!isBlack);
+        long flips=0L;
+        for (int direction=0; direction<8; direction++) {
+            long sandwich=0L;
+            long nextSquare=BitBoard.shift(1L << square, direction);
+            while ((nextSquare & opponent)!=0) {
+                sandwich |= nextSquare;
+                nextSquare=BitBoard.shift(nextSquare, direction);
+            }
+            if ((nextSquare & player)!=0) {
+                flips |= sandwich;
+            }
+        } return flips;
+    }
+
+    /**
+     * This method plays a piece for a particular player on a particular square, and flips all of the
+     * sandwiched pieces, updating the hash of the pieces. The method returns the pieces that were
+     * flipped.
+     */
+    public long placePiece(int square, boolean isBlack) {
+        long flips=this.getFlips(square, isBlack);
+        long placed=(1L << square) | flips;
+        this.piecesHash ^= Zobrist.moveKey(square, flips, isBlack);
+        if (isBlack) {
+            this.black |= placed;
+            this.white &= ~flips;
+        } else {
+            this.white |= placed;
+            this.black &= ~flips;
+        } return flips;
+    }
+
+    /**
+     * This method plays a piece for a particular player on a particular square in the same way as
+     * placePiece(), but also records the move on the undo stack so that it can be taken back with
+     * undoMove(). The method returns the pieces that were flipped.
+     */
+    public long makeMove(int square, boolean isBlack) {
+        if (this.undoFlips==null) {
+            this.undoFlips=new long[UNDO_STACK_SIZE];
+            this.undoMoves=new int[UNDO_STACK_SIZE];
+            this.undoHashes=new long[UNDO_STACK_SIZE];
+        }
+        this.undoHashes[this.undoCount]=this.piecesHash;
+        long flips=this.placePiece(square, isBlack);
+        this.undoFlips[this.undoCount]=flips;
+        if (isBlack) {
+            this.undoMoves[this.undoCount]=square | BLACK_MOVE_FLAG;
+        } else {
+            this.undoMoves[this.undoCount]=square;
+        }
+        this.undoCount++;
+        return flips;
+    }
+
+    /**
+     * This method takes back the last move made with makeMove(), removing the piece that was played
+     * and flipping the pieces it flipped back to the opponent. The hash of the pieces is restored from
+     * the undo stack.
+     */
+    public void undoMove() {
+        this.undoCount--;
+        this.piecesHash=this.undoHashes[this.undoCount];
+        long flips=this.undoFlips[this.undoCount];
+        int move=this.undoMoves[this.undoCount];
+        long placed=(1L << (move & (BLACK_MOVE_FLAG-1))) | flips;
+        if ((move & BLACK_MOVE_FLAG)!=0) {
+            this.black &= ~placed;
+            this.white |= flips;
+        } else {
+            this.white &= ~placed;
+            this.black |= flips;
+        }
+    }
+
+    /**
+     * This method returns a long with a bit set for every piece of a particular player which is next to
+     * an empty square, in any of the eight directions. These frontier pieces are the ones the opponent
+     * can flip soonest, so having fewer of them is usually better.
+     */
+    public long getFrontier(boolean isBlack) {
+        long empty=this.getEmpty();
+        long nextToEmpty=0L;
+        for (int direction=0; direction<8; direction++) {
+            nextToEmpty |= BitBoard.shift(empty, direction);
+        } return this.getPieces(isBlack) & nextToEmpty;
+    }
+
+    /**
+     * This method determines whether the game has ended, which is the case when neither player
+     * has a legal move left.
+     */
+    public boolean checkGameOver() {
+        return this.getLegalMoves(true)==0 && this.getLegalMoves(false)==0;
+    }
+
+    /**
+     * This method counts the number of pieces on the board for a particular player.
+     */
+    public int countPieces(boolean isBlack) {
+        return Long.bitCount(this.getPieces(isBlack));
+    }
+
+    /**
+     * This method counts the number of empty squares left on the board.
+     */
+    public int countEmpty() {
+        return Long.bitCount(this.getEmpty());
+    }
+
+    /**
+     * This method calculates the positional advantage a player has over another, in exactly the same
+     * way as Board.calcBoardScore() does, by summing the value of every square a player occupies and
+     * subtracting the value of every square the opponent occupies.
+     */
+    public int calcBoardScore(boolean isBlack) {
+        int score=0;
+        long player=this.getPieces(isBlack);
+        while (player!=0) {
+            score+=SQUARE_VALUES[Long.numberOfTrailingZeros(player)];
+            player &= player-1;
+        }
+        long opponent=this.getPieces(!isBlack);
+        while (opponent!=0) {
+            score-=SQUARE_VALUES[Long.numberOfTrailingZeros(opponent)];
+            opponent &= opponent-1;
+        } return score;
+    }
+}
@@ -0,0 +1,50 @@
+package othello;
+
+/**
+ * This class contains all the relevant constants used by the Othello engine. The constants used only to
+ * display the game are kept in the ViewConstants class, so that the engine does not depend on Javafx.
+ */
+public class Constants {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int[][] SQUARE_VALUES={{220, -20, 30, 25, 25, 30, -20, 220},
+                                            {-20, -40, -10, -10, -10, -10, -40, -20},
+                                             {30, -10, 4, 4, 4, 4, -10, 30},
+                                            {25, -10, 4, 2, 2, 4, -10, 25},
+                                            {25, -10, 4, 2, 2, 4, -10, 25},
+                                            {30, -10, 4, 4, 4, 4, -10, 30},
+                                            {-20, -40, -10, -10, -10, -10, -40, -20},
+                                            {220, -20, 30, 25, 25, 30, -20, 220}};
+
+    public static final int TIMED_PLAYER_MODE=4;
+    public static final long MOVE_TIME_MILLIS=1000;
+    public static final boolean PONDER=true;
+    public static final boolean REGISTER_SEARCH_METRICS=true;
+
+    public static final int SEARCH_MINIMAX=0;
+    public static final int SEARCH_ALPHA_BETA=1;
+    public static final int SEARCH_PVS=2;
+    public static final int SEARCH_THREADS=Runtime.getRuntime().availableProcessors();
+
+    public static final int TT_DEPTH_PREFERRED=0;
+    public static final int TT_ALWAYS_REPLACE=1;
+    public static final int TT_TWO_TIER=2;
+    public static final int TT_SIZE_MB=16;
+    public static final int TT_REPLACEMENT_POLICY=TT_TWO_TIER;
+    public static final boolean CANONICAL_POSITIONS=true;
+    public static final int CANONICAL_MAX_PIECES=20;
+
+    public static final int EVALUATOR_SQUARE_VALUES=0;
+    public static final int EVALUATOR_PATTERNS=1;
+    public static final int COMPUTER_EVALUATOR=EVALUATOR_SQUARE_VALUES;
+    public static final String PATTERN_WEIGHTS_FILE="othello.weights";
+
+    public static final int ENDGAME_EMPTIES=16;
+    public static final int ENDGAME_TT_SIZE_MB=4;
+
+    public static final String OPENING_BOOK_FILE="othello.book";
+
+    public static final String GAME_RECORD_FILE="othello.games";
+}
@@ -0,0 +1,288 @@
+package othello;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * This class solves Othello positions near the end of the game exactly. Instead of estimating the value
+ * of a board with the positional advantage values in Constants, the solver searches every line of play
+ * to the end of the game, and the value of a position is the final difference in pieces between the
+ * player to move and the opponent, assuming both players play perfectly.
+ *
+ * A position is solved in two passes. The first pass searches with a window of -1 to 1, which only
+ * determines whether the player to move wins, loses or draws, and prunes far more than a full search.
+ * The second pass then uses that result as a bound to find the exact difference in pieces. Moves are
+ * ordered fastest-first, meaning the moves which leave the opponent with the fewest replies are searched
+ * first, with ties broken by parity, preferring moves in a quadrant of the board with an odd number of
+ * empty squares. Close to the end, counting replies costs more than it saves, so moves are only ordered
+ * by parity. Solved positions are stored in a TranspositionTable of their own, since an exact piece
+ * difference cannot be compared with the heuristic scores stored by the SearchEngine.
+ */
+public class EndgameSolver {
+    private static final int MAX_SCORE = 65;
+    private static final int FASTEST_FIRST_MIN_EMPTIES = 7;
+    private static final int TRANSPOSITION_MIN_EMPTIES = 8;
+    private static final long[] QUADRANTS = {0x000000000f0f0f0fL, 0x00000000f0f0f0f0L,
+            0x0f0f0f0f00000000L, 0xf0f0f0f000000000L};
+
+    private TranspositionTable transpositionTable;
+    private BooleanSupplier stopCheck;
+    private long nodeCount;
+    private boolean searchAborted;
+    private int[][] moveLists;
+    private int[][] moveKeys;
+
+    /**
+     * The constructor for the EndgameSolver class takes in the TranspositionTable solved positions are
+     * stored in, which may be null, and a BooleanSupplier that is checked regularly during a solve and
+     * returns true when the solve should be abandoned.
+     */
+    public EndgameSolver(TranspositionTable transpositionTable, BooleanSupplier stopCheck) {
+        this.transpositionTable=transpositionTable;
+        this.stopCheck=stopCheck;
+        this.moveLists=new int[65][64];
+        this.moveKeys=new int[65][64];
+    }
+
+    /**
+     * This constructor creates an EndgameSolver with a TranspositionTable of the size set in the
+     * Constants class, which is never stopped early.
+     */
+    public EndgameSolver() {
+        this(new TranspositionTable(Constants.ENDGAME_TT_SIZE_MB, Constants.TT_REPLACEMENT_POLICY), () -> false);
+    }
+
+    /**
+     * This method returns the number of hypothetical boards visited during the most recent solve.
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * This method returns whether the most recent solve was stopped before it finished, in which case
+     * the move it returned is not proven to be the best move.
+     */
+    public boolean wasAborted() {
+        return this.searchAborted;
+    }
+
+    /**
+     * This method finds the best move for a particular player with perfect play, and returns it with
+     * its move value set to the final difference in pieces the player can force. If the player has no
+     * legal moves, the method returns null. The board passed in is never changed.
+     */
+    public Move solve(BitBoard board, boolean isBlack) {
+        BitBoard currBoard = new BitBoard(board);
+        this.nodeCount=0;
+        this.searchAborted=false;
+        if (this.transpositionTable!=null) {
+            this.transpositionTable.newSearch();
+        }
+        Move bestMove = this.solveRoot(currBoard, isBlack, -1, 1);
+        if (bestMove==null || this.searchAborted || bestMove.getMoveValue()==0) {
+            return bestMove;
+        } if (bestMove.getMoveValue()>0) {
+            return this.solveRoot(currBoard, isBlack, 0, MAX_SCORE);
+        } return this.solveRoot(currBoard, isBlack, -MAX_SCORE, 0);
+    }
+
+    /**
+     * This helper method searches every legal move at the root within a window from alpha to beta, and
+     * returns the first move with the highest value. If the search is stopped, the best move found so
+     * far is returned.
+     */
+    private Move solveRoot(BitBoard currBoard, boolean isBlack, int alpha, int beta) {
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            return null;
+        }
+        int empties = currBoard.countEmpty();
+        int moveCount = this.orderMoves(currBoard, isBlack, legalMoves, empties, this.probeMove(currBoard,
+                isBlack));
+        int[] moves = this.moveLists[empties];
+        Move bestMove = null;
+        for (int i=0; i<moveCount; i++) {
+            int square = moves[i];
+            currBoard.makeMove(square, isBlack);
+            this.nodeCount++;
+            int value = -1 * this.solve(currBoard, !isBlack, -beta, -alpha);
+            currBoard.undoMove();
+            if (this.searchAborted) {
+                return bestMove;
+            }
+            if (bestMove==null || value>bestMove.getMoveValue()) {
+                bestMove = new Move(BitBoard.getArrayXPos(square), BitBoard.getArrayYPos(square));
+                bestMove.setMoveValue(value);
+                if (value>alpha) {
+                    alpha=value;
+                } if (alpha>=beta) {
+                    break;
+                }
+            }
+        } return bestMove;
+    }
+
+    /**
+     * This method recursively calculates the final difference in pieces for the player about to move
+     * with perfect play, using fail-soft alpha-beta pruning. If the player has no legal moves the turn
+     * passes to the opponent, and if neither player can move the game is over.
+     */
+    private int solve(BitBoard currBoard, boolean isBlack, int alpha, int beta) {
+        if (this.checkSearchAborted()) {
+            return 0;
+        }
+        int empties = currBoard.countEmpty();
+        if (empties==1) {
+            return this.solveLastEmpty(currBoard, isBlack);
+        }
+        long key = 0L;
+        int storedMove = TranspositionTable.NO_MOVE;
+        boolean useTable = this.transpositionTable!=null && empties>=TRANSPOSITION_MIN_EMPTIES;
+        if (useTable) {
+            key = Zobrist.hash(currBoard, isBlack);
+            long entry = this.transpositionTable.probe(key);
+            if (entry!=0) {
+                int score = TranspositionTable.getScore(entry);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound==TranspositionTable.BOUND_EXACT
+                        || (bound==TranspositionTable.BOUND_LOWER && score>=beta)
+                        || (bound==TranspositionTable.BOUND_UPPER && score<=alpha)) {
+                    return score;
+                }
+                storedMove = TranspositionTable.getMove(entry);
+            }
+        }
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            if (currBoard.getLegalMoves(!isBlack)==0) {
+                return currBoard.countPieces(isBlack)-currBoard.countPieces(!isBlack);
+            } return -1 * this.solve(currBoard, !isBlack, -beta, -alpha);
+        }
+
+        int originalAlpha = alpha;
+        int bestValue = -MAX_SCORE;
+        int bestSquare = TranspositionTable.NO_MOVE;
+        int moveCount = this.orderMoves(currBoard, isBlack, legalMoves, empties, storedMove);
+        int[] moves = this.moveLists[empties];
+        for (int i=0; i<moveCount; i++) {
+            int square = moves[i];
+            currBoard.makeMove(square, isBlack);
+            this.nodeCount++;
+            int value = -1 * this.solve(currBoard, !isBlack, -beta, -alpha);
+            currBoard.undoMove();
+            if (this.searchAborted) {
+                return 0;
+            }
+            if (value>bestValue) {
+                bestValue=value;
+                bestSquare=square;
+                if (value>alpha) {
+                    alpha=value;
+                } if (alpha>=beta) {
+                    break;
+                }
+            }
+        }
+        if (useTable) {
+            int bound = TranspositionTable.BOUND_EXACT;
+            if (bestValue<=originalAlpha) {
+                bound = TranspositionTable.BOUND_UPPER;
+            } else if (bestValue>=beta) {
+                bound = TranspositionTable.BOUND_LOWER;
+            }
+            this.transpositionTable.store(key, empties, bound, bestValue, bestSquare);
+        } return bestValue;
+    }
+
+    /**
+     * This helper method calculates the final difference in pieces when only one empty square is left,
+     * without making any moves. The player to move fills the square if they can, otherwise the opponent
+     * fills it if they can, and otherwise the game ends with the square left empty.
+     */
+    private int solveLastEmpty(BitBoard currBoard, boolean isBlack) {
+        this.nodeCount++;
+        int square = Long.numberOfTrailingZeros(currBoard.getEmpty());
+        int difference = currBoard.countPieces(isBlack)-currBoard.countPieces(!isBlack);
+        long flips = currBoard.getFlips(square, isBlack);
+        if (flips!=0) {
+            return difference + 2*Long.bitCount(flips) + 1;
+        }
+        flips = currBoard.getFlips(square, !isBlack);
+        if (flips!=0) {
+            return difference - 2*Long.bitCount(flips) - 1;
+        } return difference;
+    }
+
+    /**
+     * This helper method returns the best move stored in the TranspositionTable for a position, or
+     * NO_MOVE if the position has not been solved before.
+     */
+    private int probeMove(BitBoard currBoard, boolean isBlack) {
+        if (this.transpositionTable==null) {
+            return TranspositionTable.NO_MOVE;
+        }
+        long entry = this.transpositionTable.probe(Zobrist.hash(currBoard, isBlack));
+        if (entry==0) {
+            return TranspositionTable.NO_MOVE;
+        } return TranspositionTable.getMove(entry);
+    }
+
+    /**
+     * This helper method fills the move list for a particular number of empty squares with the legal
+     * moves in the order they should be searched, and returns the number of moves. The move stored in
+     * the TranspositionTable is always searched first. With enough empty squares left, the remaining
+     * moves are sorted by how many replies they leave the opponent, and then by parity. Otherwise, the
+     * moves in quadrants with an odd number of empty squares are searched before the others. The lists
+     * are allocated once, so ordering moves never creates any objects.
+     */
+    private int orderMoves(BitBoard currBoard, boolean isBlack, long legalMoves, int empties, int storedMove) {
+        int[] moves = this.moveLists[empties];
+        int[] keys = this.moveKeys[empties];
+        long oddQuadrants = 0L;
+        for (long quadrant: QUADRANTS) {
+            if ((Long.bitCount(currBoard.getEmpty() & quadrant) & 1)!=0) {
+                oddQuadrants |= quadrant;
+            }
+        }
+
+        int moveCount = 0;
+        while (legalMoves!=0) {
+            int square = Long.numberOfTrailingZeros(legalMoves);
+            legalMoves &= legalMoves-1;
+            int key;
+            if (square==storedMove) {
+                key = -2;
+            } else if (empties>=FASTEST_FIRST_MIN_EMPTIES) {
+                currBoard.makeMove(square, isBlack);
+                key = 2*Long.bitCount(currBoard.getLegalMoves(!isBlack));
+                currBoard.undoMove();
+            } else {
+                key = 0;
+            }
+            if ((oddQuadrants & (1L << square))==0) {
+                key++;
+            }
+
+            int i = moveCount;
+            while (i>0 && keys[i-1]>key) {
+                moves[i]=moves[i-1];
+                keys[i]=keys[i-1];
+                i--;
+            }
+            moves[i]=square;
+            keys[i]=key;
+            moveCount++;
+        } return moveCount;
+    }
+
+    /**
+     * This helper method determines whether the solve has been asked to stop. Like the SearchEngine,
+     * this is only checked once every 1024 nodes, and once the solve has been stopped every recursive
+     * call returns immediately.
+     */
+    private boolean checkSearchAborted() {
+        if (!this.searchAborted && (this.nodeCount & 1023)==0 && this.stopCheck.getAsBoolean()) {
+            this.searchAborted=true;
+        } return this.searchAborted;
+    }
+}
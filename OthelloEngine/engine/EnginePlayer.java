@@ -0,0 +1,150 @@
+package othello;
+
+/**
+ * This class is a headless computer player, which chooses moves the same way a ComputerPlayer does but
+ * without the Referee or Javafx. It is used by command line programs such as the Tournament, which play
+ * many games between different engine settings.
+ *
+ * The settings are written as a String of the form "mode/limit[/eN][/evaluator]". The mode is minimax,
+ * ab or pvs. The limit is either a fixed search depth, such as "6", or a time per move in milliseconds,
+ * such as "100ms". The optional "eN" part solves the endgame exactly once there are N or fewer empty
+ * squares left, and the optional evaluator is either "squares", the default, "patterns" for the
+ * PatternEvaluator with the weights in PATTERN_WEIGHTS_FILE, or "handpatterns" for a PatternEvaluator
+ * with the hand tuned weights. For example, "pvs/6/e14/patterns" searches to a depth of six with the pattern
+ * evaluator and solves the last fourteen empty squares.
+ */
+public class EnginePlayer {
+    private String settings;
+    private SearchEngine searchEngine;
+    private int depth;
+    private long moveTimeMillis;
+    private int endgameEmpties;
+    private long totalNodes;
+    private long totalNanos;
+    private long totalCutoffs;
+    private long totalFirstMoveCutoffs;
+    private int movesPlayed;
+
+    /**
+     * The constructor for the EnginePlayer class parses the settings String described above, and creates
+     * a single threaded SearchEngine with a TranspositionTable of a particular size. An
+     * IllegalArgumentException is thrown if the settings cannot be parsed.
+     */
+    public EnginePlayer(String settings, int tableSizeMB) {
+        String[] parts = settings.split("/");
+        if (parts.length<2) {
+            throw new IllegalArgumentException("Engine settings should look like pvs/6 or pvs/100ms: "+settings);
+        }
+        this.settings=settings;
+        int searchMode = EnginePlayer.parseSearchMode(parts[0]);
+        if (parts[1].endsWith("ms")) {
+            this.moveTimeMillis=Long.parseLong(parts[1].substring(0, parts[1].length()-2));
+        } else {
+            this.depth=Integer.parseInt(parts[1]);
+        }
+        Evaluator evaluator = new SquareValueEvaluator();
+        for (int i=2; i<parts.length; i++) {
+            if (parts[i].equals("patterns")) {
+                evaluator = PatternEvaluator.getDefaultEvaluator();
+            } else if (parts[i].equals("handpatterns")) {
+                evaluator = new PatternEvaluator();
+            } else if (parts[i].startsWith("e")) {
+                this.endgameEmpties=Integer.parseInt(parts[i].substring(1));
+            } else if (!parts[i].equals("squares")) {
+                throw new IllegalArgumentException("Unknown engine setting "+parts[i]+" in "+settings);
+            }
+        }
+        this.searchEngine=new SearchEngine(searchMode,
+                new TranspositionTable(tableSizeMB, Constants.TT_REPLACEMENT_POLICY));
+        this.searchEngine.setEvaluator(evaluator);
+    }
+
+    /**
+     * This helper method converts the name of a search mode into one of the search mode constants.
+     */
+    private static int parseSearchMode(String mode) {
+        switch (mode.toLowerCase()) {
+            case "minimax":
+                return Constants.SEARCH_MINIMAX;
+            case "ab":
+                return Constants.SEARCH_ALPHA_BETA;
+            case "pvs":
+                return Constants.SEARCH_PVS;
+            default:
+                throw new IllegalArgumentException("Unknown search mode "+mode);
+        }
+    }
+
+    /**
+     * This method chooses a move for a particular player, and adds the nodes searched, the time taken
+     * and the cutoffs found to this player's totals. If the player has no legal moves, the method returns null.
+     */
+    public Move getMove(BitBoard currBoard, boolean isBlack) {
+        long startTime = System.nanoTime();
+        Move bestMove;
+        if (currBoard.countEmpty()<=this.endgameEmpties) {
+            bestMove = this.searchEngine.solveEndgame(currBoard, isBlack);
+        } else if (this.moveTimeMillis>0) {
+            bestMove = this.searchEngine.getBestMoveTimed(currBoard, isBlack, this.moveTimeMillis);
+        } else {
+            bestMove = this.searchEngine.getBestMove(currBoard, this.depth, isBlack);
+        }
+        this.totalNanos+=System.nanoTime()-startTime;
+        this.totalNodes+=this.searchEngine.getNodeCount();
+        this.totalCutoffs+=this.searchEngine.getCutoffCount();
+        this.totalFirstMoveCutoffs+=this.searchEngine.getFirstMoveCutoffCount();
+        this.movesPlayed++;
+        return bestMove;
+    }
+
+    /**
+     * This method clears the TranspositionTable, so that nothing learned during one game carries over
+     * into the next.
+     */
+    public void newGame() {
+        this.searchEngine.getTranspositionTable().clear();
+    }
+
+    /**
+     * This method returns the settings String this player was created from.
+     */
+    public String getSettings() {
+        return this.settings;
+    }
+
+    /**
+     * This method returns the total number of nodes searched by this player.
+     */
+    public long getTotalNodes() {
+        return this.totalNodes;
+    }
+
+    /**
+     * This method returns the total time this player has spent choosing moves, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * This method returns the total number of cutoffs found by this player's searches.
+     */
+    public long getTotalCutoffs() {
+        return this.totalCutoffs;
+    }
+
+    /**
+     * This method returns the total number of cutoffs found by this player's searches which were caused
+     * by the first move searched.
+     */
+    public long getTotalFirstMoveCutoffs() {
+        return this.totalFirstMoveCutoffs;
+    }
+
+    /**
+     * This method returns the number of moves this player has chosen.
+     */
+    public int getMovesPlayed() {
+        return this.movesPlayed;
+    }
+}
@@ -0,0 +1,16 @@
+package othello;
+
+/**
+ * This interface is implemented by every evaluation function the SearchEngine can use to score the
+ * positions at the end of a search. A score is an estimate of how good a position is for a particular
+ * player, where a bigger score is better for that player. Scores must stay well below 10000 in size,
+ * which is the value of a won game. An Evaluator may be used by several search threads at once, so
+ * evaluating a position must not change the Evaluator.
+ */
+public interface Evaluator {
+
+    /**
+     * This method returns the score of a position from the point of view of a particular player.
+     */
+    int evaluate(BitBoard currBoard, boolean isBlack);
+}
@@ -0,0 +1,20 @@
+package othello;
+
+/**
+ * This interface is implemented by anything which needs to know when the state of a game changes, such
+ * as the Board displaying the game on screen. GameListeners are registered with a GameState, which calls
+ * them after every change, so the engine never needs to know how the game is being displayed.
+ */
+public interface GameListener {
+
+    /**
+     * This method is called after a player places a piece, with the BitBoard square the piece was placed
+     * on, the colour of the player, and the pieces that were flipped.
+     */
+    void piecePlaced(int square, boolean isBlack, long flips);
+
+    /**
+     * This method is called after the game is reset, with the position the game starts from.
+     */
+    void gameReset(BitBoard startBoard);
+}
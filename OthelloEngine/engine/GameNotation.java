@@ -0,0 +1,188 @@
+package othello;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * This class converts GameRecords to and from the standard notation for Othello games, in which every
+ * move is written as the letter of its column, a to h from left to right, followed by the number of its
+ * row, 1 to 8 from top to bottom, so that a game reads like "f5d6c3d3c4". The starting position of
+ * this game is the standard one with the colours swapped, and the player with the white pieces moves
+ * first here, so the first player in the standard notation, usually called black, is the player with
+ * the white pieces in a GameRecord. The squares themselves are the same, so games written in the
+ * standard notation can be read without changing any moves.
+ *
+ * The class is also a command line program which converts files of games.
+ * Usage: GameNotation export gameFile textFile
+ *        GameNotation import textFile gameFile
+ *        GameNotation scan gameFile
+ * A text file has one game per line, made of the moves in the standard notation and, separated by tabs,
+ * the final difference in pieces between black and white and the names of the black and white players.
+ * Only the moves are needed when importing, since the difference in pieces is found by replaying the
+ * game. Scanning reads every game of a file, and prints how many there are, how many were won by each
+ * colour, and how many games were read per second.
+ */
+public class GameNotation {
+
+    /**
+     * This is the mainline, which runs the command named by the first argument.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length==3 && args[0].equals("export")) {
+            GameNotation.exportGames(Paths.get(args[1]), Paths.get(args[2]));
+        } else if (args.length==3 && args[0].equals("import")) {
+            GameNotation.importGames(Paths.get(args[1]), Paths.get(args[2]));
+        } else if (args.length==2 && args[0].equals("scan")) {
+            GameNotation.scanGames(Paths.get(args[1]));
+        } else {
+            System.err.println("Usage: GameNotation export gameFile textFile");
+            System.err.println("       GameNotation import textFile gameFile");
+            System.err.println("       GameNotation scan gameFile");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method returns the moves of a game in the standard notation.
+     */
+    public static String toNotation(GameRecord gameRecord) {
+        StringBuilder notation = new StringBuilder(gameRecord.getMoveCount()*2);
+        for (int i=0; i<gameRecord.getMoveCount(); i++) {
+            notation.append(GameNotation.toNotation(gameRecord.getMove(i)));
+        } return notation.toString();
+    }
+
+    /**
+     * This method returns a single square in the standard notation, such as "f5".
+     */
+    public static String toNotation(int square) {
+        return ""+(char) ('a'+square%8)+(char) ('1'+square/8);
+    }
+
+    /**
+     * This method reads the moves of a game in the standard notation into a GameRecord, replacing any
+     * moves it held. The moves are replayed from the starting position, with a player who has no legal
+     * moves passing, and the final difference in pieces between black and white is set from the last
+     * position. Letters may be upper or lower case, and spaces between moves are ignored. The names of
+     * the players are left as they were. An IllegalArgumentException is thrown if the notation cannot be
+     * read or a move is not legal.
+     */
+    public static void fromNotation(String notation, GameRecord gameRecord) {
+        gameRecord.clear();
+        BitBoard currBoard = BitBoard.startPosition();
+        boolean isBlack = false;
+        int i = 0;
+        while (i<notation.length()) {
+            if (Character.isWhitespace(notation.charAt(i))) {
+                i++;
+                continue;
+            } if (i+1>=notation.length()) {
+                throw new IllegalArgumentException("Incomplete move at the end of "+notation);
+            }
+            int column = Character.toLowerCase(notation.charAt(i))-'a';
+            int row = notation.charAt(i+1)-'1';
+            if (column<0 || column>7 || row<0 || row>7) {
+                throw new IllegalArgumentException("Cannot read the move "+notation.substring(i, i+2));
+            }
+            int square = row*8+column;
+            if (currBoard.getLegalMoves(isBlack)==0) {
+                isBlack = !isBlack;
+            } if ((currBoard.getLegalMoves(isBlack) & (1L << square))==0
+                    || gameRecord.getMoveCount()==GameRecord.MAX_MOVES) {
+                throw new IllegalArgumentException("Move "+(gameRecord.getMoveCount()+1)+", "
+                        +notation.substring(i, i+2)+", is not legal");
+            }
+            currBoard.placePiece(square, isBlack);
+            gameRecord.addMove(square);
+            isBlack = !isBlack;
+            i+=2;
+        }
+        gameRecord.setDiscDifference(currBoard.countPieces(true)-currBoard.countPieces(false));
+    }
+
+    /**
+     * This method writes every game of a game file to a text file, one game per line.
+     */
+    public static void exportGames(Path gameFile, Path textFile) throws IOException {
+        GameRecord gameRecord = new GameRecord();
+        long games = 0;
+        try (GameRecordReader reader = new GameRecordReader(gameFile);
+             BufferedWriter writer = Files.newBufferedWriter(textFile, StandardCharsets.UTF_8)) {
+            while (reader.readGame(gameRecord)) {
+                writer.write(GameNotation.toNotation(gameRecord)+"\t"+gameRecord.getDiscDifference()+"\t"
+                        +gameRecord.getBlackPlayer()+"\t"+gameRecord.getWhitePlayer());
+                writer.newLine();
+                games++;
+            }
+        }
+        System.out.println("Exported "+games+" games to "+textFile);
+    }
+
+    /**
+     * This method writes every game of a text file to a new game file. Blank lines and lines starting
+     * with "#" are skipped, and a game which cannot be read stops the import with the number of its
+     * line.
+     */
+    public static void importGames(Path textFile, Path gameFile) throws IOException {
+        GameRecord gameRecord = new GameRecord();
+        try (BufferedReader reader = Files.newBufferedReader(textFile, StandardCharsets.UTF_8);
+             GameRecordWriter writer = new GameRecordWriter(gameFile)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine())!=null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t");
+                try {
+                    GameNotation.fromNotation(fields[0], gameRecord);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Line "+lineNumber+": "+e.getMessage(), e);
+                }
+                gameRecord.setPlayers(fields.length>2 ? fields[2] : "", fields.length>3 ? fields[3] : "");
+                writer.writeGame(gameRecord);
+            }
+            System.out.println("Imported "+writer.getGameCount()+" games to "+gameFile);
+        }
+    }
+
+    /**
+     * This method reads every game of a game file straight out of the mapped file, and prints how many
+     * games there are, the result for each colour, and the number of games read per second. Every move
+     * is read, so the speed is that of a program which looks at whole games.
+     */
+    public static void scanGames(Path gameFile) throws IOException {
+        long startTime = System.nanoTime();
+        long games = 0;
+        long moves = 0;
+        long blackWins = 0;
+        long whiteWins = 0;
+        long squareSum = 0;
+        try (GameRecordReader reader = new GameRecordReader(gameFile)) {
+            while (reader.nextGame()) {
+                int moveCount = reader.getMoveCount();
+                for (int i=0; i<moveCount; i++) {
+                    squareSum+=reader.getMove(i);
+                }
+                if (reader.getDiscDifference()>0) {
+                    blackWins++;
+                } else if (reader.getDiscDifference()<0) {
+                    whiteWins++;
+                }
+                moves+=moveCount;
+                games++;
+            }
+        }
+        double seconds = (System.nanoTime()-startTime)/1e9;
+        System.out.printf("%d games, %d moves: black won %d, white won %d, %d draws%n", games, moves,
+                blackWins, whiteWins, games-blackWins-whiteWins);
+        System.out.printf("Read in %.3f s, %.0f games/sec (square checksum %d)%n", seconds,
+                games/Math.max(seconds, 1e-9), squareSum);
+    }
+}
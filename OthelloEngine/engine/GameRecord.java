@@ -0,0 +1,122 @@
+package othello;
+
+/**
+ * This class holds the moves of one finished game, stored as the square of each move, the names of
+ * the two players, and the final difference in pieces between black and white. Passes are not stored,
+ * since a player only passes when they have no legal moves, so replaying the moves from the starting
+ * position with white to move, and passing whenever the player to move cannot move, always reaches the
+ * same positions. A GameRecord can be reused for game after game, so that reading a file of games
+ * creates no objects.
+ */
+public class GameRecord {
+    public static final int MAX_MOVES = 60;
+
+    private byte[] moves;
+    private int moveCount;
+    private int discDifference;
+    private String blackPlayer;
+    private String whitePlayer;
+
+    /**
+     * The constructor for the GameRecord class creates an empty record.
+     */
+    public GameRecord() {
+        this.moves=new byte[MAX_MOVES];
+        this.blackPlayer="";
+        this.whitePlayer="";
+    }
+
+    /**
+     * This method empties the record, so that a new game can be recorded in it. The names of the
+     * players are kept.
+     */
+    public void clear() {
+        this.moveCount=0;
+        this.discDifference=0;
+    }
+
+    /**
+     * This method makes this record a copy of another one.
+     */
+    public void copyFrom(GameRecord otherRecord) {
+        System.arraycopy(otherRecord.moves, 0, this.moves, 0, otherRecord.moveCount);
+        this.moveCount=otherRecord.moveCount;
+        this.discDifference=otherRecord.discDifference;
+        this.blackPlayer=otherRecord.blackPlayer;
+        this.whitePlayer=otherRecord.whitePlayer;
+    }
+
+    /**
+     * This method adds the square of the next move to the record.
+     */
+    public void addMove(int square) {
+        this.moves[this.moveCount]=(byte) square;
+        this.moveCount++;
+    }
+
+    /**
+     * This method returns the square of a particular move, counting from zero.
+     */
+    public int getMove(int moveIndex) {
+        return this.moves[moveIndex];
+    }
+
+    /**
+     * This method returns the number of moves in the record.
+     */
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * This method sets the number of moves in the record, after the moves have been read into the array
+     * returned by getMoveArray().
+     */
+    void setMoveCount(int moveCount) {
+        this.moveCount=moveCount;
+    }
+
+    /**
+     * This method returns the array the moves are stored in, so that they can be read and written in
+     * one block.
+     */
+    byte[] getMoveArray() {
+        return this.moves;
+    }
+
+    /**
+     * This method sets the final number of black pieces minus the final number of white pieces.
+     */
+    public void setDiscDifference(int discDifference) {
+        this.discDifference=discDifference;
+    }
+
+    /**
+     * This method returns the final number of black pieces minus the final number of white pieces.
+     */
+    public int getDiscDifference() {
+        return this.discDifference;
+    }
+
+    /**
+     * This method sets the names of the players who played black and white.
+     */
+    public void setPlayers(String blackPlayer, String whitePlayer) {
+        this.blackPlayer=blackPlayer;
+        this.whitePlayer=whitePlayer;
+    }
+
+    /**
+     * This method returns the name of the player who played black.
+     */
+    public String getBlackPlayer() {
+        return this.blackPlayer;
+    }
+
+    /**
+     * This method returns the name of the player who played white.
+     */
+    public String getWhitePlayer() {
+        return this.whitePlayer;
+    }
+}
@@ -0,0 +1,205 @@
+package othello;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads the games written by a GameRecordWriter back one at a time. The file is never read
+ * onto the heap: it is mapped into memory with a MappedByteBuffer, a window of up to a gigabyte at a
+ * time, and nextGame() only steps over the header of the next game, so the moves of the current game
+ * are read straight out of the mapped file with getMove(). Scanning a file this way creates no objects
+ * apart from the names of the players, and reaches millions of games per second. For code which needs
+ * to keep a game, readGame() copies it into a GameRecord instead.
+ */
+public class GameRecordReader implements Closeable {
+    public static final int MAGIC = 0x4f475231;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+    public static final int GAME_HEADER_SIZE = 4;
+    public static final int PLAYER_RECORD = 0xff;
+    public static final int MAX_PLAYERS = 255;
+    public static final int MAX_NAME_LENGTH = 255;
+
+    private static final long WINDOW_SIZE = 1L << 30;
+    private static final int MAX_RECORD_SIZE = 3+MAX_NAME_LENGTH;
+
+    private FileChannel channel;
+    private long fileSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+    private int position;
+    private String[] playerNames;
+    private int playerCount;
+    private int movesPosition;
+    private int moveCount;
+    private int discDifference;
+    private int blackPlayer;
+    private int whitePlayer;
+
+    /**
+     * The constructor for the GameRecordReader class opens a file of games and checks its header. An
+     * IOException is thrown if the file was not written by a GameRecordWriter.
+     */
+    public GameRecordReader(Path gameFile) throws IOException {
+        this.channel=FileChannel.open(gameFile, StandardOpenOption.READ);
+        this.fileSize=this.channel.size();
+        this.playerNames=new String[MAX_PLAYERS];
+        this.mapWindow(0);
+        if (this.fileSize<HEADER_SIZE || this.window.getInt(0)!=MAGIC) {
+            this.channel.close();
+            throw new IOException(gameFile+" is not a game file");
+        } if (this.window.getInt(4)!=VERSION) {
+            this.channel.close();
+            throw new IOException(gameFile+" is version "+this.window.getInt(4)+" of the game file format");
+        }
+        this.position=HEADER_SIZE;
+    }
+
+    /**
+     * This helper method maps the window of the file which begins at a particular offset.
+     */
+    private void mapWindow(long start) throws IOException {
+        this.windowStart=start;
+        this.window=this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+                Math.min(WINDOW_SIZE, this.fileSize-start));
+        this.position=0;
+    }
+
+    /**
+     * This method moves on to the next game, so that it can be read with getMove() and the other
+     * getters, and returns false once there are no games left. The names of any new players are read
+     * on the way. An IOException is thrown if the file ends partway through a record or holds an
+     * impossible game.
+     */
+    public boolean nextGame() throws IOException {
+        while (true) {
+            if (this.window.limit()-this.position<MAX_RECORD_SIZE
+                    && this.windowStart+this.window.limit()<this.fileSize) {
+                this.mapWindow(this.windowStart+this.position);
+            }
+            int remaining = this.window.limit()-this.position;
+            if (remaining==0) {
+                return false;
+            }
+            int recordType = this.window.get(this.position) & 0xff;
+            if (recordType==PLAYER_RECORD) {
+                this.readPlayer(remaining);
+            } else {
+                if (recordType>GameRecord.MAX_MOVES) {
+                    throw new IOException("Impossible game of "+recordType+" moves");
+                } if (remaining<GAME_HEADER_SIZE+recordType) {
+                    throw new IOException("The file ends partway through a game");
+                }
+                this.moveCount=recordType;
+                this.discDifference=this.window.get(this.position+1);
+                this.blackPlayer=this.window.get(this.position+2) & 0xff;
+                this.whitePlayer=this.window.get(this.position+3) & 0xff;
+                if (this.blackPlayer>=this.playerCount || this.whitePlayer>=this.playerCount) {
+                    throw new IOException("A game refers to a player that has not been named");
+                }
+                this.movesPosition=this.position+GAME_HEADER_SIZE;
+                this.position=this.movesPosition+this.moveCount;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * This helper method reads a record naming the next player, which the writer adds to the file
+     * just before the first game the player appears in.
+     */
+    private void readPlayer(int remaining) throws IOException {
+        if (remaining<3) {
+            throw new IOException("The file ends partway through a player");
+        }
+        int playerId = this.window.get(this.position+1) & 0xff;
+        int nameLength = this.window.get(this.position+2) & 0xff;
+        if (remaining<3+nameLength) {
+            throw new IOException("The file ends partway through a player");
+        } if (playerId!=this.playerCount || playerId>=MAX_PLAYERS) {
+            throw new IOException("Players are out of order");
+        }
+        byte[] name = new byte[nameLength];
+        this.window.get(this.position+3, name);
+        this.playerNames[playerId]=new String(name, StandardCharsets.UTF_8);
+        this.playerCount++;
+        this.position+=3+nameLength;
+    }
+
+    /**
+     * This method reads the next game into a GameRecord, and returns false once there are no games left.
+     */
+    public boolean readGame(GameRecord gameRecord) throws IOException {
+        if (!this.nextGame()) {
+            return false;
+        }
+        this.window.get(this.movesPosition, gameRecord.getMoveArray(), 0, this.moveCount);
+        gameRecord.setMoveCount(this.moveCount);
+        gameRecord.setDiscDifference(this.discDifference);
+        gameRecord.setPlayers(this.getBlackPlayer(), this.getWhitePlayer());
+        return true;
+    }
+
+    /**
+     * This method returns the number of moves in the current game.
+     */
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    /**
+     * This method returns the square of a particular move of the current game, counting from zero.
+     */
+    public int getMove(int moveIndex) {
+        return this.window.get(this.movesPosition+moveIndex);
+    }
+
+    /**
+     * This method returns the final number of black pieces minus the final number of white pieces in
+     * the current game.
+     */
+    public int getDiscDifference() {
+        return this.discDifference;
+    }
+
+    /**
+     * This method returns the name of the player who played black in the current game.
+     */
+    public String getBlackPlayer() {
+        return this.playerNames[this.blackPlayer];
+    }
+
+    /**
+     * This method returns the name of the player who played white in the current game.
+     */
+    public String getWhitePlayer() {
+        return this.playerNames[this.whitePlayer];
+    }
+
+    /**
+     * This method returns the number of players named so far in the file.
+     */
+    public int getPlayerCount() {
+        return this.playerCount;
+    }
+
+    /**
+     * This method returns the name of a particular player, numbered in the order they first appear.
+     */
+    public String getPlayerName(int playerId) {
+        return this.playerNames[playerId];
+    }
+
+    /**
+     * This method closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,129 @@
+package othello;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+
+/**
+ * This class writes GameRecords to a file one after another, as the games finish. The file begins with
+ * a header holding GameRecordReader.MAGIC and the version of the format. Each game is then stored as
+ * one byte for the number of moves, one signed byte for the final difference in pieces between black
+ * and white, one byte each for the black and white players, and then one byte for the square of each
+ * move, so a whole game takes about 64 bytes. Players are stored as numbers: the first time a name is
+ * written, a record made of the byte GameRecordReader.PLAYER_RECORD, the player's number, and the
+ * length and UTF-8 bytes of the name is written just before the game. Games can be written from several
+ * threads at once.
+ */
+public class GameRecordWriter implements Closeable {
+    private OutputStream output;
+    private HashMap<String, Integer> playerIds;
+    private long gameCount;
+
+    /**
+     * The constructor for the GameRecordWriter class creates the file, replacing any file already there.
+     */
+    public GameRecordWriter(Path gameFile) throws IOException {
+        this(gameFile, false);
+    }
+
+    /**
+     * The constructor for the GameRecordWriter class opens a file of games. If append is true and the
+     * file already holds games, new games are added after them, and the players already named in the
+     * file keep their numbers. Otherwise the file is created, replacing any file already there.
+     */
+    public GameRecordWriter(Path gameFile, boolean append) throws IOException {
+        this.playerIds=new HashMap<>();
+        if (append && Files.isRegularFile(gameFile) && Files.size(gameFile)>0) {
+            try (GameRecordReader reader = new GameRecordReader(gameFile)) {
+                while (reader.nextGame()) {
+                    this.gameCount++;
+                }
+                for (int i=0; i<reader.getPlayerCount(); i++) {
+                    this.playerIds.put(reader.getPlayerName(i), i);
+                }
+            }
+            this.output=new BufferedOutputStream(Files.newOutputStream(gameFile, StandardOpenOption.APPEND),
+                    1 << 16);
+        } else {
+            this.output=new BufferedOutputStream(Files.newOutputStream(gameFile), 1 << 16);
+            this.writeInt(GameRecordReader.MAGIC);
+            this.writeInt(GameRecordReader.VERSION);
+        }
+    }
+
+    /**
+     * This helper method writes an int with the most significant byte first.
+     */
+    private void writeInt(int value) throws IOException {
+        this.output.write(value >>> 24);
+        this.output.write(value >>> 16);
+        this.output.write(value >>> 8);
+        this.output.write(value);
+    }
+
+    /**
+     * This method adds one game to the end of the file, first naming any player who has not appeared in
+     * the file before. An IllegalArgumentException is thrown if the final difference in pieces is
+     * impossible, and an IOException if the file already names as many players as it can hold.
+     */
+    public synchronized void writeGame(GameRecord gameRecord) throws IOException {
+        int discDifference = gameRecord.getDiscDifference();
+        if (discDifference<-64 || discDifference>64) {
+            throw new IllegalArgumentException("Impossible difference in pieces "+discDifference);
+        }
+        int blackPlayer = this.getPlayerId(gameRecord.getBlackPlayer());
+        int whitePlayer = this.getPlayerId(gameRecord.getWhitePlayer());
+        this.output.write(gameRecord.getMoveCount());
+        this.output.write(discDifference);
+        this.output.write(blackPlayer);
+        this.output.write(whitePlayer);
+        this.output.write(gameRecord.getMoveArray(), 0, gameRecord.getMoveCount());
+        this.gameCount++;
+    }
+
+    /**
+     * This helper method returns the number of a player, writing a record which names the player if
+     * they have not appeared in the file before. Names too long to store are cut short.
+     */
+    private int getPlayerId(String playerName) throws IOException {
+        if (playerName==null) {
+            playerName = "";
+        }
+        Integer playerId = this.playerIds.get(playerName);
+        if (playerId!=null) {
+            return playerId;
+        } if (this.playerIds.size()>=GameRecordReader.MAX_PLAYERS) {
+            throw new IOException("A game file can only name "+GameRecordReader.MAX_PLAYERS+" players");
+        }
+        byte[] name = playerName.getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(name.length, GameRecordReader.MAX_NAME_LENGTH);
+        playerId = this.playerIds.size();
+        this.output.write(GameRecordReader.PLAYER_RECORD);
+        this.output.write(playerId);
+        this.output.write(nameLength);
+        this.output.write(name, 0, nameLength);
+        this.playerIds.put(playerName, playerId);
+        return playerId;
+    }
+
+    /**
+     * This method returns the number of games in the file so far.
+     */
+    public synchronized long getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * This method writes out any buffered games and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.output.close();
+    }
+}
@@ -0,0 +1,323 @@
+package othello;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class hosts many GameSessions at once in one JVM, without Javafx or a Referee. Every session
+ * runs its turn loop on a thread of its own. On a Java runtime with virtual threads, these are virtual
+ * threads, found with reflection so that the engine still builds for Java 17, where the sessions run
+ * on platform threads with small stacks instead. A session waiting for a move costs next to nothing
+ * either way, so the number of sessions is limited by memory rather than by the number of cores.
+ *
+ * Searching, on the other hand, is limited by the cores, so the engine moves of every session are
+ * searched by a small fixed pool of engine workers, each keeping one EnginePlayer, with its own
+ * TranspositionTable, for every engine setting it has searched with. The number of searches queued or
+ * running at once is bounded by a fair Semaphore: once it is used up, a session asking for an engine
+ * move waits, which is the server's backpressure, instead of piling work onto the queue. The Semaphore
+ * hands out its permits in the order they were asked for, and a session only ever asks for one search
+ * at a time, so a session that has just had its move must queue behind every other waiting session
+ * before it gets another one. The number of sessions open at once is limited as well, and
+ * openSession() refuses new sessions once the limit is reached.
+ *
+ * The server also keeps a LatencyHistogram of the time from a session asking for an engine move to the
+ * move arriving, queueing included, and measures the bytes the engine workers allocate for each session.
+ */
+public class GameServer implements AutoCloseable {
+    private static final int ENGINE_TABLE_SIZE_MB = 4;
+    private static final long SESSION_STACK_SIZE = 256*1024;
+
+    private ExecutorService sessionExecutor;
+    private ExecutorService engineExecutor;
+    private boolean virtualThreads;
+    private ThreadLocal<HashMap<String, EnginePlayer>> enginePlayers;
+    private ConcurrentHashMap<String, Boolean> checkedSettings;
+    private Semaphore searchPermits;
+    private int maxSearches;
+    private int maxSessions;
+    private AtomicInteger openSessions;
+    private AtomicLong sessionsStarted;
+    private AtomicLong sessionsFinished;
+    private AtomicLong movesPlayed;
+    private AtomicLong allocatedBytes;
+    private LatencyHistogram engineMoveLatency;
+    private ThreadMXBean threadBean;
+
+    /**
+     * The constructor for the GameServer class creates the engine workers, and sets the maximum number of
+     * engine searches queued or running at once, and the maximum number of sessions open at once.
+     */
+    public GameServer(int engineWorkers, int maxSearches, int maxSessions) {
+        this.virtualThreads=true;
+        this.sessionExecutor=GameServer.createVirtualThreadExecutor();
+        if (this.sessionExecutor==null) {
+            this.virtualThreads=false;
+            this.sessionExecutor=Executors.newCachedThreadPool((Runnable r) -> {
+                Thread sessionThread = new Thread(null, r, "othello-session", SESSION_STACK_SIZE);
+                sessionThread.setDaemon(true);
+                return sessionThread;
+            });
+        }
+        AtomicInteger workerCount = new AtomicInteger();
+        this.engineExecutor=Executors.newFixedThreadPool(engineWorkers, (Runnable r) -> {
+            Thread engineThread = new Thread(r, "othello-engine-"+workerCount.incrementAndGet());
+            engineThread.setDaemon(true);
+            return engineThread;
+        });
+        this.enginePlayers=ThreadLocal.withInitial(HashMap::new);
+        this.checkedSettings=new ConcurrentHashMap<>();
+        this.maxSearches=maxSearches;
+        this.searchPermits=new Semaphore(maxSearches, true);
+        this.maxSessions=maxSessions;
+        this.openSessions=new AtomicInteger();
+        this.sessionsStarted=new AtomicLong();
+        this.sessionsFinished=new AtomicLong();
+        this.movesPlayed=new AtomicLong();
+        this.allocatedBytes=new AtomicLong();
+        this.engineMoveLatency=new LatencyHistogram();
+        this.threadBean=ManagementFactory.getThreadMXBean();
+    }
+
+    /**
+     * This helper method creates an ExecutorService which starts a new virtual thread for every task, or
+     * returns null if the Java runtime does not have virtual threads.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * This method creates a SessionPlayer which searches for its moves with particular engine settings,
+     * written the same way as for an EnginePlayer, such as "pvs/6" or "ab/50ms". The search runs on the
+     * engine workers. An IllegalArgumentException is thrown if the settings cannot be parsed.
+     */
+    public SessionPlayer createEnginePlayer(String settings) {
+        this.checkedSettings.computeIfAbsent(settings, (String newSettings) -> {
+            new EnginePlayer(newSettings, 1);
+            return Boolean.TRUE;
+        });
+        return new EngineSessionPlayer(settings);
+    }
+
+    /**
+     * This method opens a session between two players and starts its turn loop. A
+     * RejectedExecutionException is thrown if the server already has as many open sessions as it allows,
+     * or has been closed.
+     */
+    public GameSession openSession(SessionPlayer white, SessionPlayer black) {
+        if (this.openSessions.incrementAndGet()>this.maxSessions) {
+            this.openSessions.decrementAndGet();
+            throw new RejectedExecutionException("The server already has "+this.maxSessions+" open sessions");
+        }
+        GameSession session = new GameSession(this.sessionsStarted.incrementAndGet(), this, white, black);
+        try {
+            session.setTurnLoop(this.sessionExecutor.submit(session::run));
+        } catch (RejectedExecutionException e) {
+            this.openSessions.decrementAndGet();
+            throw e;
+        }
+        return session;
+    }
+
+    /**
+     * This method is called by a session once its turn loop has ended.
+     */
+    void sessionFinished(GameSession session) {
+        this.movesPlayed.addAndGet(session.getMovesPlayed());
+        this.sessionsFinished.incrementAndGet();
+        this.openSessions.decrementAndGet();
+    }
+
+    /**
+     * This helper method searches for an engine move for a session. The session first waits for one of
+     * the search permits, then hands the search to an engine worker and waits for the move. The permit
+     * is released by the engine worker once the search has really ended, so that the permits always
+     * match the searches queued or running. If the session is interrupted while it waits for the move,
+     * a search which has not started yet is skipped, and one which has started runs to the end, still
+     * holding its permit. The time from asking for a permit to the move arriving is recorded in the
+     * latency histogram.
+     */
+    private int searchMove(GameSession session, String settings, BitBoard currBoard, boolean isBlack)
+            throws InterruptedException {
+        long startTime = System.nanoTime();
+        this.searchPermits.acquire();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        Future<Move> search;
+        try {
+            search = this.engineExecutor.submit(() -> {
+                try {
+                    if (abandoned.get()) {
+                        return null;
+                    } return this.runSearch(session, settings, currBoard, isBlack);
+                } finally {
+                    this.searchPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.searchPermits.release();
+            throw e;
+        }
+        Move bestMove;
+        try {
+            bestMove = search.get();
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Engine "+settings+" failed", e.getCause());
+        }
+        this.engineMoveLatency.record(System.nanoTime()-startTime);
+        return BitBoard.toSquare(bestMove.getArrayXPos(), bestMove.getArrayYPos());
+    }
+
+    /**
+     * This helper method is run by an engine worker, and searches one position with the worker's
+     * EnginePlayer for particular settings, creating it the first time the worker needs it. The bytes
+     * the worker allocates during the search are added to the session's count, if the Java runtime can
+     * measure them.
+     */
+    private Move runSearch(GameSession session, String settings, BitBoard currBoard, boolean isBlack) {
+        EnginePlayer enginePlayer = this.enginePlayers.get().computeIfAbsent(settings,
+                (String newSettings) -> new EnginePlayer(newSettings, ENGINE_TABLE_SIZE_MB));
+        long allocatedBefore = this.getThreadAllocatedBytes();
+        Move bestMove = enginePlayer.getMove(currBoard, isBlack);
+        long allocated = this.getThreadAllocatedBytes()-allocatedBefore;
+        session.addAllocatedBytes(allocated);
+        this.allocatedBytes.addAndGet(allocated);
+        return bestMove;
+    }
+
+    /**
+     * This helper method returns the number of bytes the current thread has allocated so far, or 0 if
+     * the Java runtime cannot measure it.
+     */
+    private long getThreadAllocatedBytes() {
+        if (this.threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) this.threadBean).getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        } return 0;
+    }
+
+    /**
+     * This method returns whether the sessions run on virtual threads.
+     */
+    public boolean usesVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * This method returns the number of sessions open right now.
+     */
+    public int getOpenSessions() {
+        return this.openSessions.get();
+    }
+
+    /**
+     * This method returns the number of sessions which have finished, whether or not their game ended.
+     */
+    public long getSessionsFinished() {
+        return this.sessionsFinished.get();
+    }
+
+    /**
+     * This method returns the number of moves played in every session which has finished.
+     */
+    public long getMovesPlayed() {
+        return this.movesPlayed.get();
+    }
+
+    /**
+     * This method returns the number of engine searches queued or running right now.
+     */
+    public int getSearchesInProgress() {
+        return this.maxSearches-this.searchPermits.availablePermits();
+    }
+
+    /**
+     * This method returns the number of sessions waiting for a search permit right now.
+     */
+    public int getSessionsWaitingForSearch() {
+        return this.searchPermits.getQueueLength();
+    }
+
+    /**
+     * This method returns the histogram of the time from a session asking for an engine move to the move
+     * arriving.
+     */
+    public LatencyHistogram getEngineMoveLatency() {
+        return this.engineMoveLatency;
+    }
+
+    /**
+     * This method returns the number of bytes the engine workers have allocated for every session so far.
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes.get();
+    }
+
+    /**
+     * This method stops accepting sessions, interrupts the sessions still running, and waits up to a few
+     * seconds for the threads to finish. If the thread closing the server is interrupted while it waits,
+     * it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        this.sessionExecutor.shutdownNow();
+        this.engineExecutor.shutdownNow();
+        try {
+            this.sessionExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            this.engineExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This class is the SessionPlayer created by createEnginePlayer(), which searches for its moves on
+     * the engine workers.
+     */
+    private class EngineSessionPlayer implements SessionPlayer {
+        private String settings;
+
+        /**
+         * The constructor for the EngineSessionPlayer class takes in the engine settings to search with.
+         */
+        private EngineSessionPlayer(String settings) {
+            this.settings=settings;
+        }
+
+        /**
+         * This method searches for the move on the engine workers, waiting for a search permit first.
+         */
+        @Override
+        public int chooseMove(GameSession session, BitBoard currBoard, boolean isBlack)
+                throws InterruptedException {
+            return GameServer.this.searchMove(session, this.settings, currBoard, isBlack);
+        }
+
+        /**
+         * This method returns the engine settings, which are used as the player's name.
+         */
+        @Override
+        public String getName() {
+            return this.settings;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package othello;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a command line program which measures how many games a GameServer can host. It plays a
+ * particular number of sessions, keeping a particular number of them open at once, between an engine
+ * and a client which thinks for a while and then plays a random legal move, the way a person playing
+ * over a network would keep a session open without using the cores. The engine plays white and black
+ * in turn. Once every session has finished, it prints the sessions and moves per second, the 50th and
+ * 99th percentile and the longest time from a session asking for an engine move to the move arriving,
+ * the heap used per open session, and the bytes the engine workers allocated per session.
+ *
+ * Usage: GameServerLoadTest [sessions] [openSessions] [engine] [clientThinkMillis] [engineWorkers]
+ *                           [maxSearches]
+ * The defaults are 5000 sessions with 1000 open at once, an "ab/2" engine, clients which think for 20
+ * ms, one engine worker per processor, and four searches queued or running per engine worker.
+ */
+public class GameServerLoadTest {
+
+    /**
+     * This is the mainline, which parses the optional arguments, runs a few sessions to warm up the
+     * engine workers, and then runs the load test.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int sessions = 5000;
+        int openSessions = 1000;
+        String engineSettings = "ab/2";
+        long clientThinkMillis = 20;
+        int engineWorkers = Runtime.getRuntime().availableProcessors();
+        if (args.length>0) {
+            sessions = Integer.parseInt(args[0]);
+        } if (args.length>1) {
+            openSessions = Integer.parseInt(args[1]);
+        } if (args.length>2) {
+            engineSettings = args[2];
+        } if (args.length>3) {
+            clientThinkMillis = Long.parseLong(args[3]);
+        } if (args.length>4) {
+            engineWorkers = Integer.parseInt(args[4]);
+        }
+        int maxSearches = engineWorkers*4;
+        if (args.length>5) {
+            maxSearches = Integer.parseInt(args[5]);
+        }
+
+        try (GameServer server = new GameServer(engineWorkers, maxSearches, openSessions)) {
+            SessionPlayer engine = server.createEnginePlayer(engineSettings);
+            SessionPlayer client = GameServerLoadTest.createRandomClient(clientThinkMillis);
+            System.out.println(sessions+" sessions, "+openSessions+" open at once, "+engineSettings
+                    +" against a client thinking "+clientThinkMillis+" ms, "+engineWorkers+" engine workers, "
+                    +maxSearches+" searches at once, "
+                    +(server.usesVirtualThreads() ? "virtual" : "platform")+" threads");
+            for (int i=0; i<engineWorkers*2; i++) {
+                server.openSession(engine, client).getResult().get();
+            }
+            GameServerLoadTest.runLoadTest(server, engine, client, sessions, openSessions);
+        }
+    }
+
+    /**
+     * This helper method creates a client which waits for a particular time and then plays a random
+     * legal move.
+     */
+    private static SessionPlayer createRandomClient(long thinkMillis) {
+        return new SessionPlayer() {
+            /**
+             * This method waits for the think time, and then picks one of the legal moves at random.
+             */
+            @Override
+            public int chooseMove(GameSession session, BitBoard currBoard, boolean isBlack)
+                    throws InterruptedException {
+                Thread.sleep(thinkMillis);
+                long legalMoves = currBoard.getLegalMoves(isBlack);
+                for (int i=ThreadLocalRandom.current().nextInt(Long.bitCount(legalMoves)); i>0; i--) {
+                    legalMoves &= legalMoves-1;
+                } return Long.numberOfTrailingZeros(legalMoves);
+            }
+
+            /**
+             * This method returns the name saved with the games of the client.
+             */
+            @Override
+            public String getName() {
+                return "random client";
+            }
+        };
+    }
+
+    /**
+     * This helper method opens the sessions, never more than a particular number at once, waits for
+     * them all to finish and prints the results. The heap is measured once the first time the limit of
+     * open sessions is reached, by forcing a garbage collection and comparing the heap used with the
+     * heap used before the test.
+     */
+    private static void runLoadTest(GameServer server, SessionPlayer engine, SessionPlayer client,
+                                    int sessions, int openSessions) throws InterruptedException {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baselineHeap = memoryBean.getHeapMemoryUsage().getUsed();
+        long baselineMoves = server.getMovesPlayed();
+        long baselineAllocated = server.getAllocatedBytes();
+        long heapPerSession = -1;
+        Semaphore sessionSlots = new Semaphore(openSessions);
+        AtomicInteger failures = new AtomicInteger();
+        long startTime = System.nanoTime();
+        for (int i=0; i<sessions; i++) {
+            sessionSlots.acquire();
+            GameSession session;
+            if (i%2==0) {
+                session = server.openSession(engine, client);
+            } else {
+                session = server.openSession(client, engine);
+            }
+            session.getResult().whenComplete((GameRecord gameRecord, Throwable failure) -> {
+                if (failure!=null) {
+                    failures.incrementAndGet();
+                    failure.printStackTrace();
+                }
+                sessionSlots.release();
+            });
+            if (i==openSessions-1) {
+                System.gc();
+                heapPerSession = (memoryBean.getHeapMemoryUsage().getUsed()-baselineHeap)
+                        /Math.max(1, server.getOpenSessions());
+            }
+        }
+        sessionSlots.acquire(openSessions);
+        double seconds = (System.nanoTime()-startTime)/1e9;
+
+        LatencyHistogram latency = server.getEngineMoveLatency();
+        long moves = server.getMovesPlayed()-baselineMoves;
+        System.out.printf("%d sessions in %.2f s: %.1f sessions/sec, %.0f moves/sec, %d failed%n", sessions,
+                seconds, sessions/seconds, moves/seconds, failures.get());
+        System.out.printf("engine move latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms over %d moves%n",
+                latency.getPercentile(0.5)/1e6, latency.getPercentile(0.99)/1e6, latency.getMaxNanos()/1e6,
+                latency.getCount());
+        if (heapPerSession>=0) {
+            System.out.printf("heap per open session: %,d bytes%n", heapPerSession);
+        }
+        System.out.printf("allocated by the engine workers per session: %,d bytes%n",
+                (server.getAllocatedBytes()-baselineAllocated)/sessions);
+    }
+}
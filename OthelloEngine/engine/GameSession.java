@@ -0,0 +1,155 @@
+package othello;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is one game hosted by a GameServer, the headless equivalent of a Referee. It holds its own
+ * GameState and two SessionPlayers, and its turn loop runs on a thread of its own, asking the player
+ * whose turn it is for their move, passing when a player has no legal moves, and placing every move in
+ * the GameState until the game is over. Since a session's thread spends nearly all of its time waiting for
+ * a move, a server can host thousands of sessions on virtual threads. The finished game can be waited
+ * for with getResult().
+ */
+public class GameSession {
+    private long sessionId;
+    private GameServer server;
+    private SessionPlayer white;
+    private SessionPlayer black;
+    private GameState gameState;
+    private CompletableFuture<GameRecord> result;
+    private volatile Future<?> turnLoop;
+    private AtomicBoolean started;
+    private volatile int movesPlayed;
+    private AtomicLong allocatedBytes;
+
+    /**
+     * The constructor for the GameSession class sets up a game from the starting position between two
+     * players. Sessions are created by GameServer.openSession(), which also starts their turn loop.
+     */
+    GameSession(long sessionId, GameServer server, SessionPlayer white, SessionPlayer black) {
+        this.sessionId=sessionId;
+        this.server=server;
+        this.white=white;
+        this.black=black;
+        this.gameState=new GameState();
+        this.result=new CompletableFuture<>();
+        this.allocatedBytes=new AtomicLong();
+        this.started=new AtomicBoolean();
+    }
+
+    /**
+     * This method is the turn loop of the session, run on the session's own thread. White moves first,
+     * and a player with no legal moves passes. Once the game is over, the server is told the session has
+     * finished, and then the result completes with the moves of the game, so that code waiting for the
+     * result can open a new session straight away. If a player fails, plays an illegal move, or the
+     * session is cancelled, the result completes with the exception instead. If the session was cancelled
+     * before its thread got to it, the turn loop does not run at all.
+     */
+    void run() {
+        if (!this.started.compareAndSet(false, true)) {
+            return;
+        }
+        GameRecord gameRecord = null;
+        Exception failure = null;
+        try {
+            boolean isBlack = false;
+            while (!this.gameState.checkGameOver()) {
+                if (this.gameState.checkPlayerRepeatTurn(isBlack)) {
+                    isBlack = !isBlack;
+                    continue;
+                }
+                SessionPlayer player = isBlack ? this.black : this.white;
+                int square = player.chooseMove(this, this.gameState.getBitBoard(), isBlack);
+                int arrayXPos = BitBoard.getArrayXPos(square);
+                int arrayYPos = BitBoard.getArrayYPos(square);
+                if (square<0 || square>63 || !this.gameState.isLegalMove(arrayXPos, arrayYPos, isBlack)) {
+                    throw new IllegalStateException(player.getName()+" played the illegal move "+square);
+                }
+                this.gameState.placePiece(arrayXPos, arrayYPos, isBlack);
+                this.movesPlayed++;
+                isBlack = !isBlack;
+            }
+            gameRecord = this.gameState.getGameRecord(this.black.getName(), this.white.getName());
+        } catch (InterruptedException | RuntimeException e) {
+            failure = e;
+        } finally {
+            this.server.sessionFinished(this);
+        }
+        if (gameRecord!=null) {
+            this.result.complete(gameRecord);
+        } else if (failure instanceof InterruptedException) {
+            this.result.cancel(false);
+        } else {
+            this.result.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * This method is called by the GameServer once the turn loop has been handed to a thread, so that
+     * the session can be cancelled.
+     */
+    void setTurnLoop(Future<?> turnLoop) {
+        this.turnLoop=turnLoop;
+    }
+
+    /**
+     * This method stops the session, and cancels the result. If the turn loop has not started yet, it
+     * never will, and the server is told the session has finished straight away, since the turn loop
+     * would otherwise be the one to tell it. If the turn loop is running, it is interrupted, which stops a
+     * player that is waiting for a move, and it tells the server itself as it ends. Either way, the server
+     * is told exactly once.
+     */
+    public void cancel() {
+        Future<?> turnLoop = this.turnLoop;
+        if (this.started.compareAndSet(false, true)) {
+            this.server.sessionFinished(this);
+            if (turnLoop!=null) {
+                turnLoop.cancel(false);
+            }
+        } else if (turnLoop!=null) {
+            turnLoop.cancel(true);
+        }
+        this.result.cancel(false);
+    }
+
+    /**
+     * This method returns a CompletableFuture which completes with the moves, players and final
+     * difference in pieces of the game once it is over.
+     */
+    public CompletableFuture<GameRecord> getResult() {
+        return this.result;
+    }
+
+    /**
+     * This method adds to the number of bytes allocated on behalf of this session, which the engine
+     * workers measure while they search for its moves.
+     */
+    void addAllocatedBytes(long bytes) {
+        this.allocatedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * This method returns the number of bytes allocated on behalf of this session by the engine workers
+     * so far, or 0 if the Java runtime cannot measure it.
+     */
+    public long getAllocatedBytes() {
+        return this.allocatedBytes.get();
+    }
+
+    /**
+     * This method returns the number which identifies the session within its server.
+     */
+    public long getSessionId() {
+        return this.sessionId;
+    }
+
+    /**
+     * This method returns the number of moves played so far.
+     */
+    public int getMovesPlayed() {
+        return this.movesPlayed;
+    }
+}
@@ -0,0 +1,146 @@
+package othello;
+
+import java.util.ArrayList;
+
+/**
+ * This class holds the state of a game of Othello and enforces its rules, without depending on how the
+ * game is displayed. The position is stored as a BitBoard, which the GameState uses to find legal moves,
+ * place pieces, flip sandwiched pieces, and determine when the game is over. Classes which display the
+ * game, such as the Board, register as GameListeners and redraw themselves whenever the state changes,
+ * so the same GameState can be played on screen or by a headless program with no Javafx runtime. Every
+ * move is also added to a GameRecord, so that a finished game can be saved to a game file.
+ *
+ * The legal moves of both players are found once for each position and kept until the next piece is
+ * placed, since the Referee, the highlighting of valid moves and the players all ask about the same
+ * position several times in one turn.
+ */
+public class GameState {
+    private BitBoard board;
+    private ArrayList<GameListener> listeners;
+    private GameRecord gameRecord;
+    private long blackLegalMoves;
+    private long whiteLegalMoves;
+    private boolean legalMovesFound;
+
+    /**
+     * The constructor for the GameState class sets up the four starting pieces.
+     */
+    public GameState() {
+        this.board=BitBoard.startPosition();
+        this.listeners=new ArrayList<>();
+        this.gameRecord=new GameRecord();
+    }
+
+    /**
+     * This method registers a GameListener, which is told about every change to the game from now on.
+     */
+    public void addListener(GameListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * This method returns a copy of the current position, which the caller is free to change, for
+     * example by searching it.
+     */
+    public BitBoard getBitBoard() {
+        return new BitBoard(this.board);
+    }
+
+    /**
+     * This method returns the same integer that OthelloSquare.checkPiece() does for the square at a
+     * particular position: 0 for an empty square, 1 for a white piece, and -1 for a black piece.
+     */
+    public int checkPiece(int arrayXPos, int arrayYPos) {
+        return this.board.checkPiece(arrayXPos, arrayYPos);
+    }
+
+    /**
+     * This method returns a long with a bit set for every legal move a particular player has. The moves
+     * of both players are found the first time they are needed in a position, and returned from then on
+     * until the position changes.
+     */
+    public long getLegalMoves(boolean isBlack) {
+        if (!this.legalMovesFound) {
+            this.blackLegalMoves=this.board.getLegalMoves(true);
+            this.whiteLegalMoves=this.board.getLegalMoves(false);
+            this.legalMovesFound=true;
+        } if (isBlack) {
+            return this.blackLegalMoves;
+        } return this.whiteLegalMoves;
+    }
+
+    /**
+     * This method determines whether a particular player may place a piece at a particular position in
+     * the Board's 10x10 array. Positions on the border, or off the board entirely, are never legal.
+     */
+    public boolean isLegalMove(int arrayXPos, int arrayYPos, boolean isBlack) {
+        if (arrayXPos<1 || arrayXPos>8 || arrayYPos<1 || arrayYPos>8) {
+            return false;
+        } return (this.getLegalMoves(isBlack) & BitBoard.toMask(arrayXPos, arrayYPos))!=0;
+    }
+
+    /**
+     * This method places a piece for a particular player, flips every sandwiched piece, and then tells
+     * every GameListener about the move. The method returns the pieces that were flipped. An
+     * IllegalArgumentException is thrown if the move is not legal.
+     */
+    public long placePiece(int arrayXPos, int arrayYPos, boolean isBlack) {
+        if (!this.isLegalMove(arrayXPos, arrayYPos, isBlack)) {
+            throw new IllegalArgumentException("Illegal move at ("+arrayXPos+", "+arrayYPos+")");
+        }
+        int square = BitBoard.toSquare(arrayXPos, arrayYPos);
+        long flips = this.board.placePiece(square, isBlack);
+        this.gameRecord.addMove(square);
+        this.legalMovesFound=false;
+        for (GameListener listener: this.listeners) {
+            listener.piecePlaced(square, isBlack, flips);
+        } return flips;
+    }
+
+    /**
+     * This method determines whether the game has ended, which is the case when neither player has a
+     * legal move left.
+     */
+    public boolean checkGameOver() {
+        return this.getLegalMoves(true)==0 && this.getLegalMoves(false)==0;
+    }
+
+    /**
+     * This method is called by the Referee to determine whether a player has to miss their turn because
+     * they have no legal moves, in which case their opponent repeats their turn.
+     */
+    public boolean checkPlayerRepeatTurn(boolean isBlack) {
+        return this.getLegalMoves(isBlack)==0;
+    }
+
+    /**
+     * This method counts the number of pieces on the board for a particular player.
+     */
+    public int countPieces(boolean isBlack) {
+        return this.board.countPieces(isBlack);
+    }
+
+    /**
+     * This method returns a copy of the moves played so far, with the difference in pieces between
+     * black and white in the current position, and the names of two particular players.
+     */
+    public GameRecord getGameRecord(String blackPlayer, String whitePlayer) {
+        GameRecord currentRecord = new GameRecord();
+        currentRecord.copyFrom(this.gameRecord);
+        currentRecord.setDiscDifference(this.board.countPieces(true)-this.board.countPieces(false));
+        currentRecord.setPlayers(blackPlayer, whitePlayer);
+        return currentRecord;
+    }
+
+    /**
+     * This method resets the game back to the four starting pieces, and tells every GameListener.
+     */
+    public void resetGame() {
+        this.board=BitBoard.startPosition();
+        this.gameRecord.clear();
+        this.legalMovesFound=false;
+        for (GameListener listener: this.listeners) {
+            listener.gameReset(this.getBitBoard());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package othello;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class counts how long something took, such as the time from a GameSession asking for an engine
+ * move to the move arriving, so that percentiles like the 99th can be read without keeping every time.
+ * Times are counted in buckets which are powers of two split into eight equal steps, so any percentile
+ * is within 12.5% of the true time. Times can be recorded from many threads at once without locking.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private AtomicLongArray buckets;
+    private LongAdder count;
+    private LongAdder totalNanos;
+    private volatile long maxNanos;
+
+    /**
+     * The constructor for the LatencyHistogram class creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.buckets=new AtomicLongArray(64*SUB_BUCKETS);
+        this.count=new LongAdder();
+        this.totalNanos=new LongAdder();
+    }
+
+    /**
+     * This method records one time in nanoseconds.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        this.buckets.incrementAndGet(LatencyHistogram.getBucket(nanos));
+        this.count.increment();
+        this.totalNanos.add(nanos);
+        if (nanos>this.maxNanos) {
+            synchronized (this) {
+                if (nanos>this.maxNanos) {
+                    this.maxNanos=nanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * This helper method returns the bucket a time falls in. Times below SUB_BUCKETS nanoseconds get a
+     * bucket each, and every larger power of two is split into SUB_BUCKETS buckets by the bits after its
+     * highest bit.
+     */
+    private static int getBucket(long nanos) {
+        if (nanos<SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int highestBit = 63-Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (highestBit-SUB_BUCKET_BITS)) & (SUB_BUCKETS-1);
+        return (highestBit-SUB_BUCKET_BITS+1)*SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * This helper method returns the largest time that falls in a particular bucket.
+     */
+    private static long getBucketLimit(int bucket) {
+        if (bucket<SUB_BUCKETS) {
+            return bucket;
+        }
+        int highestBit = bucket/SUB_BUCKETS+SUB_BUCKET_BITS-1;
+        long bucketStart = (long) (SUB_BUCKETS+bucket%SUB_BUCKETS) << (highestBit-SUB_BUCKET_BITS);
+        return bucketStart+(1L << (highestBit-SUB_BUCKET_BITS))-1;
+    }
+
+    /**
+     * This method returns the time in nanoseconds which a particular share of the recorded times, such
+     * as 0.99, did not exceed, or 0 if nothing has been recorded.
+     */
+    public long getPercentile(double share) {
+        long total = this.count.sum();
+        if (total==0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(share*total));
+        long seen = 0;
+        for (int bucket=0; bucket<this.buckets.length(); bucket++) {
+            seen+=this.buckets.get(bucket);
+            if (seen>=rank) {
+                return Math.min(LatencyHistogram.getBucketLimit(bucket), this.maxNanos);
+            }
+        } return this.maxNanos;
+    }
+
+    /**
+     * This method returns the number of times recorded.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * This method returns the average time recorded in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public double getMeanNanos() {
+        long total = this.count.sum();
+        if (total==0) {
+            return 0;
+        } return (double) this.totalNanos.sum()/total;
+    }
+
+    /**
+     * This method returns the longest time recorded in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+}
@@ -0,0 +1,197 @@
+package othello;
+
+/**
+ * This class decides the order in which the alpha-beta and PVS searches try the legal moves of a
+ * position. Pruning works best when the best move is searched first, so the moves are sorted in stages.
+ * The move stored in the TranspositionTable for the position comes first, then the two killer moves,
+ * which recently caused a cutoff in another position at the same depth, then the remaining moves by
+ * their history score, which grows every time a move causes a cutoff anywhere in the search. Moves with
+ * the same history score are sorted by their value in SQUARE_VALUES.
+ *
+ * Killer moves are kept for every depth left to search, which is the same thing as every ply from the
+ * root, since every level of the search, including a pass, uses up exactly one level of depth. Each
+ * SearchEngine has its own MoveOrderer, so the helper threads of a parallel search never share one.
+ *
+ * The MoveOrderer also counts how many positions ended in a cutoff, and how many of those cutoffs were
+ * caused by the first move searched. The closer this ratio is to one, the smaller the searched tree.
+ */
+public class MoveOrderer {
+    private static final int HASH_MOVE_KEY = Integer.MAX_VALUE;
+    private static final int FIRST_KILLER_KEY = (1 << 30) + 1;
+    private static final int SECOND_KILLER_KEY = 1 << 30;
+    private static final int HISTORY_SHIFT = 9;
+    private static final int SQUARE_VALUE_OFFSET = 64;
+    private static final int HISTORY_LIMIT = 1 << 20;
+    private static final int[] SQUARE_KEYS = MoveOrderer.createSquareKeys();
+
+    private int[][] moveLists;
+    private int[][] moveKeys;
+    private int[][] killerMoves;
+    private int[][] history;
+    private long cutoffCount;
+    private long firstMoveCutoffCount;
+
+    /**
+     * The constructor for the MoveOrderer class allocates the move lists for every depth up front, so
+     * that ordering the moves of a position allocates nothing. The lists grow if a deeper search is
+     * asked for.
+     */
+    public MoveOrderer() {
+        this.moveLists=new int[65][64];
+        this.moveKeys=new int[65][64];
+        this.killerMoves=new int[65][2];
+        this.history=new int[2][64];
+        this.clearKillers();
+    }
+
+    /**
+     * This helper method converts SQUARE_VALUES into a key for every square, offset so that every key is
+     * positive and fits below the history score.
+     */
+    private static int[] createSquareKeys() {
+        int[] squareKeys = new int[64];
+        for (int square=0; square<64; square++) {
+            squareKeys[square]=Constants.SQUARE_VALUES[square/8][square%8] + SQUARE_VALUE_OFFSET;
+        } return squareKeys;
+    }
+
+    /**
+     * This method prepares the MoveOrderer for a new search. The killer moves are cleared, since they
+     * belong to the positions of the previous search, and the history scores are halved, so that the
+     * moves which worked in the previous search still come first but recent cutoffs count for more.
+     * The cutoff counts start again from zero.
+     */
+    public void newSearch() {
+        this.clearKillers();
+        for (int[] sideHistory: this.history) {
+            for (int square=0; square<64; square++) {
+                sideHistory[square]>>=1;
+            }
+        }
+        this.cutoffCount=0;
+        this.firstMoveCutoffCount=0;
+    }
+
+    /**
+     * This helper method forgets every killer move.
+     */
+    private void clearKillers() {
+        for (int[] killers: this.killerMoves) {
+            killers[0]=TranspositionTable.NO_MOVE;
+            killers[1]=TranspositionTable.NO_MOVE;
+        }
+    }
+
+    /**
+     * This method sorts the legal moves of a position into the move list for a particular depth, best
+     * first, and returns the number of moves. The list is read with getMoveList(), and stays valid until
+     * another position at the same depth is ordered.
+     */
+    public int orderMoves(long legalMoves, int hashMove, int movesToBaseCase, boolean isBlack) {
+        if (movesToBaseCase>=this.moveLists.length) {
+            this.grow(movesToBaseCase+1);
+        }
+        int[] moves = this.moveLists[movesToBaseCase];
+        int[] keys = this.moveKeys[movesToBaseCase];
+        int[] killers = this.killerMoves[movesToBaseCase];
+        int[] sideHistory = this.history[isBlack ? 1 : 0];
+
+        int moveCount = 0;
+        while (legalMoves!=0) {
+            int square = Long.numberOfTrailingZeros(legalMoves);
+            legalMoves &= legalMoves-1;
+            int key;
+            if (square==hashMove) {
+                key = HASH_MOVE_KEY;
+            } else if (square==killers[0]) {
+                key = FIRST_KILLER_KEY;
+            } else if (square==killers[1]) {
+                key = SECOND_KILLER_KEY;
+            } else {
+                key = (sideHistory[square] << HISTORY_SHIFT) + SQUARE_KEYS[square];
+            }
+
+            int i = moveCount;
+            while (i>0 && keys[i-1]<key) {
+                moves[i]=moves[i-1];
+                keys[i]=keys[i-1];
+                i--;
+            }
+            moves[i]=square;
+            keys[i]=key;
+            moveCount++;
+        } return moveCount;
+    }
+
+    /**
+     * This method returns the move list filled in by the last call to orderMoves() for a particular depth.
+     */
+    public int[] getMoveList(int movesToBaseCase) {
+        return this.moveLists[movesToBaseCase];
+    }
+
+    /**
+     * This method records that a move caused a cutoff. The move becomes the first killer move for its
+     * depth, and its history score grows by the square of the depth left, since a cutoff close to the
+     * root saves far more of the tree than one close to the leaves. The index is the position of the
+     * move in the ordered move list, which is used to count first move cutoffs.
+     */
+    public void recordCutoff(int square, int moveIndex, int movesToBaseCase, boolean isBlack) {
+        this.cutoffCount++;
+        if (moveIndex==0) {
+            this.firstMoveCutoffCount++;
+        }
+        int[] killers = this.killerMoves[movesToBaseCase];
+        if (killers[0]!=square) {
+            killers[1]=killers[0];
+            killers[0]=square;
+        }
+        int[] sideHistory = this.history[isBlack ? 1 : 0];
+        sideHistory[square]+=movesToBaseCase*movesToBaseCase;
+        if (sideHistory[square]>=HISTORY_LIMIT) {
+            for (int[] eachHistory: this.history) {
+                for (int i=0; i<64; i++) {
+                    eachHistory[i]>>=1;
+                }
+            }
+        }
+    }
+
+    /**
+     * This helper method makes room for the move lists and killer moves of deeper searches, keeping the
+     * lists of the depths already in use.
+     */
+    private void grow(int depths) {
+        int[][] newMoveLists = new int[depths][64];
+        int[][] newMoveKeys = new int[depths][64];
+        int[][] newKillerMoves = new int[depths][2];
+        for (int depth=0; depth<this.killerMoves.length; depth++) {
+            newMoveLists[depth]=this.moveLists[depth];
+            newMoveKeys[depth]=this.moveKeys[depth];
+            newKillerMoves[depth]=this.killerMoves[depth];
+        }
+        for (int depth=this.killerMoves.length; depth<depths; depth++) {
+            newKillerMoves[depth][0]=TranspositionTable.NO_MOVE;
+            newKillerMoves[depth][1]=TranspositionTable.NO_MOVE;
+        }
+        this.moveLists=newMoveLists;
+        this.moveKeys=newMoveKeys;
+        this.killerMoves=newKillerMoves;
+    }
+
+    /**
+     * This method returns the number of positions searched since the last new search that ended in a
+     * cutoff.
+     */
+    public long getCutoffCount() {
+        return this.cutoffCount;
+    }
+
+    /**
+     * This method returns the number of cutoffs since the last new search that were caused by the first
+     * move searched.
+     */
+    public long getFirstMoveCutoffCount() {
+        return this.firstMoveCutoffCount;
+    }
+}
@@ -0,0 +1,156 @@
+package othello;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class lets a ComputerPlayer look up the best move in positions near the start of the game
+ * instead of searching for it. The book is a binary file written by the OpeningBookBuilder. Its header
+ * is CANONICAL_MAGIC and the number of records, each as a 4 byte int, and it is followed by fixed size
+ * records sorted by key. Each record holds the key as an 8 byte long, the score the search gave the best
+ * move as a 2 byte short, and the BitBoard square of the best move and the depth it was searched to as
+ * a byte each. Because the rules of Othello are the same in every orientation of the board, the book
+ * only stores one of the eight symmetric versions of each position: the canonical version found by the
+ * Symmetry class. The key is the Zobrist hash of the canonical version, and the best move is a square of
+ * the canonical version.
+ *
+ * The file is never read onto the heap. It is mapped into memory with a MappedByteBuffer, and a lookup
+ * finds the canonical version of the position, binary searches the records for it once, and transforms
+ * the stored move back onto the real board, so opening the book is instant and the operating system only
+ * loads the parts of the file that are actually used.
+ */
+public class OpeningBook {
+    public static final int CANONICAL_MAGIC = 0x4f424b32;
+    public static final int HEADER_SIZE = 8;
+    public static final int RECORD_SIZE = 12;
+
+    private static OpeningBook defaultBook;
+    private static boolean defaultBookLoaded;
+
+    private ByteBuffer records;
+    private int recordCount;
+
+    /**
+     * The constructor for the OpeningBook class maps a book file into memory and checks its header.
+     */
+    public OpeningBook(Path bookFile) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(bookFile, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity()<HEADER_SIZE || buffer.getInt(0)!=CANONICAL_MAGIC) {
+            throw new IOException(bookFile+" is not an opening book");
+        }
+        this.recordCount=buffer.getInt(4);
+        if (buffer.capacity()<HEADER_SIZE + (long) this.recordCount*RECORD_SIZE) {
+            throw new IOException(bookFile+" is truncated");
+        }
+        this.records=buffer;
+    }
+
+    /**
+     * This method returns the opening book stored in the file named by Constants.OPENING_BOOK_FILE,
+     * which is shared by every ComputerPlayer. The file is only mapped the first time this method is
+     * called. If there is no book file, or it cannot be read, the method returns null and the
+     * ComputerPlayers search every move.
+     */
+    public static synchronized OpeningBook getDefaultBook() {
+        if (!defaultBookLoaded) {
+            defaultBookLoaded=true;
+            Path bookFile = Paths.get(Constants.OPENING_BOOK_FILE);
+            if (Files.isRegularFile(bookFile)) {
+                try {
+                    defaultBook=new OpeningBook(bookFile);
+                } catch (IOException e) {
+                    System.err.println("Could not read opening book: "+e.getMessage());
+                }
+            }
+        } return defaultBook;
+    }
+
+    /**
+     * This method returns the number of positions in the book.
+     */
+    public int size() {
+        return this.recordCount;
+    }
+
+    /**
+     * This method looks up a position in the book, and returns the book move for a particular player
+     * with its move value set to the stored score, or null if the position is not in the book. A move is
+     * only returned if it is legal, so a collision between two hashes can never make the ComputerPlayer
+     * play an illegal move.
+     */
+    public Move lookup(BitBoard currBoard, boolean isBlack) {
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            return null;
+        }
+        int symmetry = Symmetry.canonicalSymmetry(currBoard);
+        int record = this.findRecord(Symmetry.hash(currBoard, isBlack, symmetry));
+        if (record<0) {
+            return null;
+        }
+        int square = Symmetry.fromCanonicalSquare(this.getRecordMove(record), symmetry);
+        if ((legalMoves & (1L << square))==0) {
+            return null;
+        }
+        Move bookMove = new Move(BitBoard.getArrayXPos(square), BitBoard.getArrayYPos(square));
+        bookMove.setMoveValue(this.getRecordScore(record));
+        return bookMove;
+    }
+
+    /**
+     * This helper method binary searches the records for a particular hash, and returns the index of
+     * the matching record, or -1 if there is none.
+     */
+    private int findRecord(long key) {
+        int low=0;
+        int high=this.recordCount-1;
+        while (low<=high) {
+            int middle=(low+high) >>> 1;
+            long middleKey=this.getRecordKey(middle);
+            if (middleKey<key) {
+                low=middle+1;
+            } else if (middleKey>key) {
+                high=middle-1;
+            } else {
+                return middle;
+            }
+        } return -1;
+    }
+
+    /**
+     * This helper method returns the position of a record in the mapped file.
+     */
+    private int getRecordOffset(int record) {
+        return HEADER_SIZE + record*RECORD_SIZE;
+    }
+
+    /**
+     * This helper method returns the Zobrist hash stored in a record.
+     */
+    private long getRecordKey(int record) {
+        return this.records.getLong(this.getRecordOffset(record));
+    }
+
+    /**
+     * This helper method returns the score stored in a record.
+     */
+    private int getRecordScore(int record) {
+        return this.records.getShort(this.getRecordOffset(record)+8);
+    }
+
+    /**
+     * This helper method returns the BitBoard square of the move stored in a record.
+     */
+    private int getRecordMove(int record) {
+        return this.records.get(this.getRecordOffset(record)+10);
+    }
+}
@@ -0,0 +1,128 @@
+package othello;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class is a command line program which generates the opening book read by the OpeningBook class.
+ * Starting from the position the Board sets up, with white to move as the Referee does, it searches
+ * every position to a fixed depth and records the best move. For the first few plies every legal move is
+ * expanded, so the book covers every way the game can start, and after that only the best move is
+ * played, following the line the engine would choose against itself until the book is deep enough.
+ * Every position is stored as its canonical version, found by the Symmetry class, so positions which
+ * are a symmetric version of a position already in the book are skipped, since the OpeningBook looks up
+ * the canonical version of every position.
+ *
+ * Usage: OpeningBookBuilder [outputFile] [depth] [widePlies] [bookPlies]
+ */
+public class OpeningBookBuilder {
+
+    /**
+     * This is the mainline, which parses the optional arguments, builds the book, and writes it out.
+     */
+    public static void main(String[] args) throws IOException {
+        Path outputFile = Paths.get(Constants.OPENING_BOOK_FILE);
+        int depth = 10;
+        int widePlies = 4;
+        int bookPlies = 12;
+        if (args.length>0) {
+            outputFile = Paths.get(args[0]);
+        } if (args.length>1) {
+            depth = Integer.parseInt(args[1]);
+        } if (args.length>2) {
+            widePlies = Integer.parseInt(args[2]);
+        } if (args.length>3) {
+            bookPlies = Integer.parseInt(args[3]);
+        }
+
+        long startTime = System.nanoTime();
+        TreeMap<Long, int[]> records = OpeningBookBuilder.buildRecords(depth, widePlies, bookPlies);
+        OpeningBookBuilder.writeBook(outputFile, records);
+        System.out.printf("Wrote %d positions to %s in %.1f s%n", records.size(), outputFile,
+                (System.nanoTime()-startTime)/1e9);
+    }
+
+    /**
+     * This helper method searches every position in the book, and returns the records to write sorted
+     * by the Zobrist hash of the canonical version of their position. Each record is an array holding
+     * the square of the best move in the canonical version, its score, and the depth it was searched to.
+     */
+    private static TreeMap<Long, int[]> buildRecords(int depth, int widePlies, int bookPlies) {
+        SearchEngine searchEngine = new SearchEngine(Constants.SEARCH_PVS,
+                new TranspositionTable(Constants.TT_SIZE_MB, Constants.TT_REPLACEMENT_POLICY),
+                Constants.SEARCH_THREADS);
+        TreeMap<Long, int[]> records = new TreeMap<>();
+        ArrayDeque<BitBoard> boards = new ArrayDeque<>();
+        ArrayDeque<Boolean> sidesToMove = new ArrayDeque<>();
+        ArrayDeque<Integer> plies = new ArrayDeque<>();
+        boards.add(BitBoard.startPosition());
+        sidesToMove.add(false);
+        plies.add(0);
+
+        while (!boards.isEmpty()) {
+            BitBoard currBoard = boards.poll();
+            boolean isBlack = sidesToMove.poll();
+            int ply = plies.poll();
+            int symmetry = Symmetry.canonicalSymmetry(currBoard);
+            long key = Symmetry.hash(currBoard, isBlack, symmetry);
+            if (ply>=bookPlies || currBoard.checkGameOver() || records.containsKey(key)) {
+                continue;
+            }
+            long legalMoves = currBoard.getLegalMoves(isBlack);
+            if (legalMoves==0) {
+                boards.add(currBoard);
+                sidesToMove.add(!isBlack);
+                plies.add(ply+1);
+                continue;
+            }
+
+            Move bestMove = searchEngine.getBestMove(currBoard, depth, isBlack);
+            int bestSquare = BitBoard.toSquare(bestMove.getArrayXPos(), bestMove.getArrayYPos());
+            int score = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, bestMove.getMoveValue()));
+            records.put(key, new int[] {Symmetry.toCanonicalSquare(bestSquare, symmetry), score, depth});
+            if (records.size()%100==0) {
+                System.out.println(records.size()+" positions searched");
+            }
+
+            if (ply>=widePlies) {
+                legalMoves = 1L << bestSquare;
+            }
+            while (legalMoves!=0) {
+                int square = Long.numberOfTrailingZeros(legalMoves);
+                legalMoves &= legalMoves-1;
+                BitBoard newBoard = new BitBoard(currBoard);
+                newBoard.placePiece(square, isBlack);
+                boards.add(newBoard);
+                sidesToMove.add(!isBlack);
+                plies.add(ply+1);
+            }
+        }
+        searchEngine.close();
+        return records;
+    }
+
+    /**
+     * This helper method writes the header and the sorted records to the book file, in the format
+     * described in the OpeningBook class.
+     */
+    private static void writeBook(Path outputFile, TreeMap<Long, int[]> records) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(outputFile)))) {
+            output.writeInt(OpeningBook.CANONICAL_MAGIC);
+            output.writeInt(records.size());
+            for (Map.Entry<Long, int[]> record: records.entrySet()) {
+                output.writeLong(record.getKey());
+                output.writeShort(record.getValue()[1]);
+                output.writeByte(record.getValue()[0]);
+                output.writeByte(record.getValue()[2]);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package othello;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This class is a command line benchmark that measures how well a multi-threaded SearchEngine scales.
+ * It searches the same set of positions with 1, 2, 4, and so on up to the given number of threads, and
+ * prints the time taken, the nodes searched per second, and the speedup over a single thread. Because
+ * parallel fixed depth searches return the same move as single threaded searches, the benchmark also
+ * checks that every thread count chose the same moves.
+ *
+ * Usage: ParallelSearchBenchmark [depth] [maxThreads] [positions]
+ */
+public class ParallelSearchBenchmark {
+    private static final long SEED = 20240101L;
+
+    /**
+     * This is the mainline, which parses the optional arguments and runs the benchmark.
+     */
+    public static void main(String[] args) {
+        int depth = 8;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        int positionCount = 20;
+        if (args.length>0) {
+            depth = Integer.parseInt(args[0]);
+        } if (args.length>1) {
+            maxThreads = Integer.parseInt(args[1]);
+        } if (args.length>2) {
+            positionCount = Integer.parseInt(args[2]);
+        }
+
+        ArrayList<BitBoard> positions = new ArrayList<>();
+        ArrayList<Boolean> sidesToMove = new ArrayList<>();
+        ParallelSearchBenchmark.setUpPositions(positionCount, positions, sidesToMove);
+
+        // Search every position once before timing anything, so that the first thread count measured
+        // is not slowed down by the JIT compiler warming up.
+        SearchEngine warmUpEngine = new SearchEngine(Constants.SEARCH_PVS, null);
+        for (int i=0; i<positions.size(); i++) {
+            warmUpEngine.getBestMove(positions.get(i), depth, sidesToMove.get(i));
+        }
+
+        System.out.println("threads      ms       nodes    nodes/sec  speedup  same moves");
+        double singleThreadMillis = 0;
+        ArrayList<String> singleThreadMoves = null;
+        for (int threads=1; threads<=maxThreads;
+             threads=ParallelSearchBenchmark.nextThreadCount(threads, maxThreads)) {
+            SearchEngine searchEngine = new SearchEngine(Constants.SEARCH_PVS,
+                    new TranspositionTable(Constants.TT_SIZE_MB, Constants.TT_REPLACEMENT_POLICY), threads);
+            ArrayList<String> moves = new ArrayList<>();
+            long nodes = 0;
+            long startTime = System.nanoTime();
+            for (int i=0; i<positions.size(); i++) {
+                Move bestMove = searchEngine.getBestMove(positions.get(i), depth, sidesToMove.get(i));
+                moves.add(bestMove.getArrayXPos()+","+bestMove.getArrayYPos());
+                nodes+=searchEngine.getNodeCount();
+            }
+            double millis = (System.nanoTime()-startTime)/1e6;
+            searchEngine.close();
+            if (threads==1) {
+                singleThreadMillis=millis;
+                singleThreadMoves=moves;
+            }
+            System.out.printf("%7d %7.0f %11d %12.0f %8.2f  %s%n", threads, millis, nodes, nodes/(millis/1000),
+                    singleThreadMillis/millis, moves.equals(singleThreadMoves));
+        }
+    }
+
+    /**
+     * This helper method returns the next thread count to benchmark, doubling the thread count each
+     * time but always finishing with the maximum number of threads.
+     */
+    private static int nextThreadCount(int threads, int maxThreads) {
+        if (threads<maxThreads && threads*2>maxThreads) {
+            return maxThreads;
+        } return threads*2;
+    }
+
+    /**
+     * This helper method creates the positions to search by playing random legal moves from the
+     * starting position. A fixed seed is used so that every run searches the same positions, and the
+     * positions are spread across the opening and middle game.
+     */
+    private static void setUpPositions(int positionCount, ArrayList<BitBoard> positions,
+                                       ArrayList<Boolean> sidesToMove) {
+        Random random = new Random(SEED);
+        while (positions.size()<positionCount) {
+            BitBoard currBoard = BitBoard.startPosition();
+            boolean isBlack = true;
+            int plies = 8 + random.nextInt(32);
+            for (int ply=0; ply<plies && !currBoard.checkGameOver(); ply++) {
+                long legalMoves = currBoard.getLegalMoves(isBlack);
+                if (legalMoves!=0) {
+                    for (int skip=random.nextInt(Long.bitCount(legalMoves)); skip>0; skip--) {
+                        legalMoves &= legalMoves-1;
+                    }
+                    currBoard.placePiece(Long.numberOfTrailingZeros(legalMoves), isBlack);
+                }
+                isBlack=!isBlack;
+            }
+            if (currBoard.getLegalMoves(isBlack)!=0) {
+                positions.add(currBoard);
+                sidesToMove.add(isBlack);
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package othello;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class is an evaluation function built on patterns, which are small groups of squares whose
+ * pieces are scored together rather than one square at a time. This lets the score depend on how the
+ * pieces relate to each other, for example an edge piece next to a corner the player owns is safe,
+ * while the same piece next to an empty corner is a liability. Ten patterns are scored: the four edges,
+ * the 3x3 region in each of the four corners, and the two long diagonals. Each pattern is read as a
+ * number in base 3, with a digit for each of its squares that is 0 for an empty square, 1 for one of
+ * the player's pieces and 2 for one of the opponent's pieces, and that number is the index of the
+ * pattern's score in a table of weights. Every edge shares one table, as does every corner and both
+ * diagonals. The score also rewards mobility, the difference in the number of legal moves, and
+ * penalizes frontier pieces, the pieces next to an empty square.
+ *
+ * A position scores the same in all eight of its orientations, which lets the SearchEngine share one
+ * TranspositionTable entry between them. Rotating or reflecting the board moves every edge and diagonal
+ * onto an edge or diagonal, sometimes read in the opposite direction, and every corner region onto a
+ * corner region, sometimes with its rows and columns swapped. So a line is looked up by the smaller of
+ * its index and the index of the line read backwards, and a corner region by the smaller of its index
+ * and the index of the region with its rows and columns swapped. Only those canonical indices are ever
+ * used, by the evaluator and by the WeightTrainer.
+ *
+ * The importance of each feature changes over the course of a game, so there is a separate set of
+ * weights for each of PHASES phases, chosen by the number of empty squares. All the weights are stored
+ * in one int array, laid out phase by phase at the offsets given by the constants below, so that a
+ * set of weights can be saved to and loaded from a file as a single block. A weight file, written by
+ * the WeightTrainer, holds a short header followed by every weight as a 16 bit number, and is mapped
+ * into memory to be read.
+ *
+ * The base 3 index of a line of eight squares is found without looping over the squares. The line is
+ * gathered into one byte for the player and one byte for the opponent, and a precomputed table converts
+ * each byte into its base 3 value. Evaluating a position takes a few dozen array lookups and no objects.
+ */
+public class PatternEvaluator implements Evaluator {
+    public static final int PHASES = 4;
+    public static final int EDGE_PATTERNS = 6561;
+    public static final int CORNER_PATTERNS = 19683;
+    public static final int DIAGONAL_PATTERNS = 6561;
+    public static final int EDGE_OFFSET = 0;
+    public static final int CORNER_OFFSET = EDGE_OFFSET + EDGE_PATTERNS;
+    public static final int DIAGONAL_OFFSET = CORNER_OFFSET + CORNER_PATTERNS;
+    public static final int MOBILITY_OFFSET = DIAGONAL_OFFSET + DIAGONAL_PATTERNS;
+    public static final int FRONTIER_OFFSET = MOBILITY_OFFSET + 1;
+    public static final int PHASE_SIZE = FRONTIER_OFFSET + 1;
+    public static final int WEIGHT_COUNT = PHASES*PHASE_SIZE;
+    public static final int WEIGHTS_MAGIC = 0x4f575431;
+    public static final int WEIGHTS_HEADER_SIZE = 8;
+    public static final int PATTERNS = 10;
+    public static final int[] TABLE_OFFSETS = {EDGE_OFFSET, EDGE_OFFSET, EDGE_OFFSET, EDGE_OFFSET, CORNER_OFFSET,
+            CORNER_OFFSET, CORNER_OFFSET, CORNER_OFFSET, DIAGONAL_OFFSET, DIAGONAL_OFFSET};
+
+    /*
+     * The masks and multipliers which gather a column or a diagonal into the top byte of a long. Every
+     * square of the line is in a different column, so the shifted copies added together by the
+     * multiplication never overlap, and nothing carries into the top byte.
+     */
+    private static final long LEFT_COLUMN = 0x0101010101010101L;
+    private static final long COLUMN_MULTIPLIER = 0x0102040810204080L;
+    private static final long MAIN_DIAGONAL = 0x8040201008040201L;
+    private static final long ANTI_DIAGONAL = 0x0102040810204080L;
+    private static final long DIAGONAL_MULTIPLIER = 0x0101010101010101L;
+
+    /*
+     * TERNARY converts a byte into base 3 with bit i as the digit for 3 to the power i, and
+     * REVERSED_TERNARY with bit i as the digit for 3 to the power 7-i, so that a corner region can
+     * always be read starting from its corner.
+     */
+    private static final int[] TERNARY = PatternEvaluator.setUpTernary(false);
+    private static final int[] REVERSED_TERNARY = PatternEvaluator.setUpTernary(true);
+
+    /*
+     * CANONICAL_LINES and CANONICAL_CORNERS convert the index of a line or a corner region into the
+     * index used for it in every orientation.
+     */
+    private static final int[] CANONICAL_LINES = PatternEvaluator.setUpCanonicalLines();
+    private static final int[] CANONICAL_CORNERS = PatternEvaluator.setUpCanonicalCorners();
+
+    /*
+     * The hand tuned weights used when no trained weights are given.
+     */
+    private static final int STABLE_PIECE_VALUE = 40;
+    private static final int EMPTY_CORNER_X_SQUARE_VALUE = -40;
+    private static final int[] MOBILITY_WEIGHTS = {15, 12, 10, 6};
+    private static final int[] FRONTIER_WEIGHTS = {-6, -5, -4, -2};
+
+    private static PatternEvaluator defaultEvaluator;
+
+    private int[] weights;
+
+    /**
+     * The constructor for the PatternEvaluator class creates an evaluator with the hand tuned weights,
+     * which score every square in a pattern by its value in SQUARE_VALUES, except that pieces on an
+     * edge which can never be flipped are worth at least STABLE_PIECE_VALUE, and that the squares next
+     * to a corner only count against a player while the corner is empty.
+     */
+    public PatternEvaluator() {
+        this(PatternEvaluator.createDefaultWeights());
+    }
+
+    /**
+     * This constructor creates an evaluator with a particular set of weights, laid out as described
+     * above. An IllegalArgumentException is thrown if the array has the wrong length.
+     */
+    public PatternEvaluator(int[] weights) {
+        if (weights.length!=WEIGHT_COUNT) {
+            throw new IllegalArgumentException("Expected "+WEIGHT_COUNT+" weights but got "+weights.length);
+        }
+        this.weights=weights;
+    }
+
+    /**
+     * This method loads the weights in a weight file, and returns an evaluator using them. The file is
+     * mapped into memory rather than read through a stream, and an IOException is thrown if it is not a
+     * weight file for the patterns of this class.
+     */
+    public static PatternEvaluator load(Path weightFile) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(weightFile, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity()<WEIGHTS_HEADER_SIZE || buffer.getInt(0)!=WEIGHTS_MAGIC) {
+            throw new IOException(weightFile+" is not a weight file");
+        } if (buffer.getInt(4)!=WEIGHT_COUNT || buffer.capacity()<WEIGHTS_HEADER_SIZE + 2L*WEIGHT_COUNT) {
+            throw new IOException(weightFile+" does not hold "+WEIGHT_COUNT+" weights");
+        }
+        ShortBuffer storedWeights = buffer.position(WEIGHTS_HEADER_SIZE).slice().asShortBuffer();
+        int[] weights = new int[WEIGHT_COUNT];
+        for (int i=0; i<WEIGHT_COUNT; i++) {
+            weights[i]=storedWeights.get(i);
+        } return new PatternEvaluator(weights);
+    }
+
+    /**
+     * This method writes the weights of this evaluator to a weight file. Weights too big for 16 bits
+     * are clamped.
+     */
+    public void save(Path weightFile) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(weightFile)))) {
+            output.writeInt(WEIGHTS_MAGIC);
+            output.writeInt(WEIGHT_COUNT);
+            for (int weight: this.weights) {
+                output.writeShort(Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, weight)));
+            }
+        }
+    }
+
+    /**
+     * This method returns the PatternEvaluator shared by every ComputerPlayer, which uses the trained
+     * weights in the file named by Constants.PATTERN_WEIGHTS_FILE. The file is only loaded the first
+     * time this method is called. If there is no weight file, or it cannot be read, the hand tuned
+     * weights are used instead.
+     */
+    public static synchronized PatternEvaluator getDefaultEvaluator() {
+        if (defaultEvaluator==null) {
+            Path weightFile = Paths.get(Constants.PATTERN_WEIGHTS_FILE);
+            if (Files.isRegularFile(weightFile)) {
+                try {
+                    defaultEvaluator=PatternEvaluator.load(weightFile);
+                } catch (IOException e) {
+                    System.err.println("Could not read pattern weights: "+e.getMessage());
+                }
+            }
+            if (defaultEvaluator==null) {
+                defaultEvaluator=new PatternEvaluator();
+            }
+        } return defaultEvaluator;
+    }
+
+    /**
+     * This method returns the score of a position from the point of view of a particular player, by
+     * adding up the weights of the ten patterns and the mobility and frontier terms for the phase of
+     * the game the position is in.
+     */
+    @Override
+    public int evaluate(BitBoard currBoard, boolean isBlack) {
+        long player = currBoard.getPieces(isBlack);
+        long opponent = currBoard.getPieces(!isBlack);
+        int phaseOffset = PatternEvaluator.getPhaseOffset(currBoard);
+        int score = 0;
+        for (int pattern=0; pattern<PATTERNS; pattern++) {
+            score+=this.weights[phaseOffset + TABLE_OFFSETS[pattern]
+                    + PatternEvaluator.getPatternIndex(player, opponent, pattern)];
+        }
+        return score + PatternEvaluator.getMobility(currBoard, isBlack)*this.weights[phaseOffset + MOBILITY_OFFSET]
+                + PatternEvaluator.getFrontier(currBoard, isBlack)*this.weights[phaseOffset + FRONTIER_OFFSET];
+    }
+
+    /**
+     * This method returns the canonical base 3 index of one of the ten patterns in its table, from the
+     * point of view of the player whose pieces are passed in first. Patterns 0 to 3 are the top, bottom,
+     * left and right edges, 4 to 7 are the top left, top right, bottom left and bottom right corner
+     * regions, and 8 and 9 are the diagonals from the top left and bottom left corners.
+     */
+    public static int getPatternIndex(long player, long opponent, int pattern) {
+        if (pattern>=4 && pattern<8) {
+            return CANONICAL_CORNERS[PatternEvaluator.readPattern(player, opponent, pattern)];
+        } return CANONICAL_LINES[PatternEvaluator.readPattern(player, opponent, pattern)];
+    }
+
+    /**
+     * This helper method returns the base 3 index of one of the ten patterns as it is read from the
+     * board, before it is made canonical. Lines are read from the top or from the left, and corner
+     * regions row by row starting from the corner.
+     */
+    private static int readPattern(long player, long opponent, int pattern) {
+        switch (pattern) {
+            case 0:
+                return PatternEvaluator.lineIndex(player, opponent, TERNARY);
+            case 1:
+                return PatternEvaluator.lineIndex(player >>> 56, opponent >>> 56, TERNARY);
+            case 2:
+                return PatternEvaluator.lineIndex(PatternEvaluator.gatherColumn(player),
+                        PatternEvaluator.gatherColumn(opponent), TERNARY);
+            case 3:
+                return PatternEvaluator.lineIndex(PatternEvaluator.gatherColumn(player >>> 7),
+                        PatternEvaluator.gatherColumn(opponent >>> 7), TERNARY);
+            case 4:
+                return PatternEvaluator.cornerIndex(player, opponent, 0, 8, 16, 0x07, TERNARY);
+            case 5:
+                return PatternEvaluator.cornerIndex(player, opponent, 0, 8, 16, 0xe0, REVERSED_TERNARY);
+            case 6:
+                return PatternEvaluator.cornerIndex(player, opponent, 56, 48, 40, 0x07, TERNARY);
+            case 7:
+                return PatternEvaluator.cornerIndex(player, opponent, 56, 48, 40, 0xe0, REVERSED_TERNARY);
+            case 8:
+                return PatternEvaluator.lineIndex(PatternEvaluator.gatherDiagonal(player, MAIN_DIAGONAL),
+                        PatternEvaluator.gatherDiagonal(opponent, MAIN_DIAGONAL), TERNARY);
+            default:
+                return PatternEvaluator.lineIndex(PatternEvaluator.gatherDiagonal(player, ANTI_DIAGONAL),
+                        PatternEvaluator.gatherDiagonal(opponent, ANTI_DIAGONAL), TERNARY);
+        }
+    }
+
+    /**
+     * This method returns the offset of the weights for the phase of the game a position is in.
+     */
+    public static int getPhaseOffset(BitBoard currBoard) {
+        return PatternEvaluator.getPhase(currBoard.countEmpty())*PHASE_SIZE;
+    }
+
+    /**
+     * This method returns the number of legal moves a player has minus the number the opponent has.
+     */
+    public static int getMobility(BitBoard currBoard, boolean isBlack) {
+        return Long.bitCount(currBoard.getLegalMoves(isBlack))-Long.bitCount(currBoard.getLegalMoves(!isBlack));
+    }
+
+    /**
+     * This method returns the number of frontier pieces a player has minus the number the opponent has.
+     */
+    public static int getFrontier(BitBoard currBoard, boolean isBlack) {
+        return Long.bitCount(currBoard.getFrontier(isBlack))-Long.bitCount(currBoard.getFrontier(!isBlack));
+    }
+
+    /**
+     * This method returns the phase of the game a position with a particular number of empty squares is
+     * in, from 0 at the start of the game to PHASES-1 at the end.
+     */
+    public static int getPhase(int empties) {
+        return Math.min(PHASES-1, Math.max(0, (60-empties)*PHASES/60));
+    }
+
+    /**
+     * This helper method returns the base 3 index of a line of eight squares, given the lowest byte of
+     * the player's and the opponent's pieces on the line.
+     */
+    private static int lineIndex(long player, long opponent, int[] ternary) {
+        return ternary[(int) player & 0xff] + 2*ternary[(int) opponent & 0xff];
+    }
+
+    /**
+     * This helper method returns the base 3 index of a 3x3 corner region. The three rows of the region
+     * start at particular bits, closest to the corner first, and the mask selects the three squares of
+     * each row, which the ternary table reads starting from the corner.
+     */
+    private static int cornerIndex(long player, long opponent, int firstRow, int secondRow, int thirdRow,
+                                   int rowMask, int[] ternary) {
+        return PatternEvaluator.lineIndex((player >>> firstRow) & rowMask, (opponent >>> firstRow) & rowMask, ternary)
+                + 27*PatternEvaluator.lineIndex((player >>> secondRow) & rowMask, (opponent >>> secondRow) & rowMask,
+                        ternary)
+                + 729*PatternEvaluator.lineIndex((player >>> thirdRow) & rowMask, (opponent >>> thirdRow) & rowMask,
+                        ternary);
+    }
+
+    /**
+     * This helper method gathers the left column of a bitboard into its lowest byte, with the top square
+     * of the column in the lowest bit.
+     */
+    private static long gatherColumn(long pieces) {
+        return ((pieces & LEFT_COLUMN)*COLUMN_MULTIPLIER) >>> 56;
+    }
+
+    /**
+     * This helper method gathers one of the long diagonals of a bitboard into its lowest byte, with the
+     * square in the left column in the lowest bit.
+     */
+    private static long gatherDiagonal(long pieces, long diagonal) {
+        return ((pieces & diagonal)*DIAGONAL_MULTIPLIER) >>> 56;
+    }
+
+    /**
+     * This helper method creates the table converting every byte into base 3, reading the bits from
+     * lowest to highest, or from highest to lowest if the table is reversed.
+     */
+    private static int[] setUpTernary(boolean reversed) {
+        int[] ternary = new int[256];
+        for (int bits=0; bits<256; bits++) {
+            int power = 1;
+            for (int bit=0; bit<8; bit++) {
+                int digitBit = reversed ? 7-bit : bit;
+                if ((bits & (1 << digitBit))!=0) {
+                    ternary[bits]+=power;
+                }
+                power*=3;
+            }
+        } return ternary;
+    }
+
+    /**
+     * This helper method creates the table converting the index of every line of eight squares into the
+     * smaller of its index and the index of the same line read backwards.
+     */
+    private static int[] setUpCanonicalLines() {
+        int[] canonical = new int[EDGE_PATTERNS];
+        for (int index=0; index<EDGE_PATTERNS; index++) {
+            int[] digits = PatternEvaluator.toDigits(index, 8);
+            int reversedIndex = 0;
+            for (int i=0; i<8; i++) {
+                reversedIndex = 3*reversedIndex + digits[i];
+            }
+            canonical[index]=Math.min(index, reversedIndex);
+        } return canonical;
+    }
+
+    /**
+     * This helper method creates the table converting the index of every corner region into the smaller
+     * of its index and the index of the same region with its rows and columns swapped, which is how the
+     * region looks after reflecting the board in the diagonal through its corner.
+     */
+    private static int[] setUpCanonicalCorners() {
+        int[] canonical = new int[CORNER_PATTERNS];
+        for (int index=0; index<CORNER_PATTERNS; index++) {
+            int[] digits = PatternEvaluator.toDigits(index, 9);
+            int transposedIndex = 0;
+            int power = 1;
+            for (int i=0; i<9; i++) {
+                transposedIndex+=digits[3*(i%3) + i/3]*power;
+                power*=3;
+            }
+            canonical[index]=Math.min(index, transposedIndex);
+        } return canonical;
+    }
+
+    /**
+     * This method returns the base 3 digits of a pattern index, one for each of a particular number of
+     * squares, where the digit is 0 for an empty square, 1 for the player and 2 for the opponent.
+     */
+    public static int[] toDigits(int index, int squares) {
+        int[] digits = new int[squares];
+        for (int i=0; i<squares; i++) {
+            digits[i]=index%3;
+            index/=3;
+        } return digits;
+    }
+
+    /**
+     * This helper method creates the hand tuned weights for every phase.
+     */
+    private static int[] createDefaultWeights() {
+        int[] weights = new int[WEIGHT_COUNT];
+        for (int phase=0; phase<PHASES; phase++) {
+            int phaseOffset = phase*PHASE_SIZE;
+            for (int index=0; index<EDGE_PATTERNS; index++) {
+                weights[phaseOffset + EDGE_OFFSET + index]=PatternEvaluator.scoreEdge(
+                        PatternEvaluator.toDigits(index, 8));
+            }
+            for (int index=0; index<CORNER_PATTERNS; index++) {
+                weights[phaseOffset + CORNER_OFFSET + index]=PatternEvaluator.scoreCorner(
+                        PatternEvaluator.toDigits(index, 9));
+            }
+            for (int index=0; index<DIAGONAL_PATTERNS; index++) {
+                weights[phaseOffset + DIAGONAL_OFFSET + index]=PatternEvaluator.scoreDiagonal(
+                        PatternEvaluator.toDigits(index, 8));
+            }
+            weights[phaseOffset + MOBILITY_OFFSET]=MOBILITY_WEIGHTS[phase];
+            weights[phaseOffset + FRONTIER_OFFSET]=FRONTIER_WEIGHTS[phase];
+        } return weights;
+    }
+
+    /**
+     * This helper method scores an edge by the value of each of its squares. A piece in an unbroken line
+     * of the same color running from a corner, or any piece on a full edge, can never be flipped, and is
+     * worth at least STABLE_PIECE_VALUE. The squares next to a corner are worth nothing once the corner
+     * is taken.
+     */
+    private static int scoreEdge(int[] digits) {
+        boolean[] stable = new boolean[8];
+        boolean full = true;
+        for (int digit: digits) {
+            full &= digit!=0;
+        }
+        for (int i=0; i<8 && digits[i]!=0 && digits[i]==digits[0]; i++) {
+            stable[i]=true;
+        }
+        for (int i=7; i>=0 && digits[i]!=0 && digits[i]==digits[7]; i--) {
+            stable[i]=true;
+        }
+        int score = 0;
+        for (int i=0; i<8; i++) {
+            int value = Constants.SQUARE_VALUES[0][i];
+            if ((i==1 && digits[0]!=0) || (i==6 && digits[7]!=0)) {
+                value = 0;
+            } if (stable[i] || full) {
+                value = Math.max(value, STABLE_PIECE_VALUE);
+            }
+            score+=PatternEvaluator.signedValue(digits[i], value);
+        } return score;
+    }
+
+    /**
+     * This helper method scores the four squares of a corner region which are not on an edge, since the
+     * edge squares are already scored by the edge patterns. The square diagonally next to the corner only
+     * counts against a player while the corner is empty.
+     */
+    private static int scoreCorner(int[] digits) {
+        int xSquareValue = digits[0]==0 ? EMPTY_CORNER_X_SQUARE_VALUE : 0;
+        return PatternEvaluator.signedValue(digits[4], xSquareValue)
+                + PatternEvaluator.signedValue(digits[5], Constants.SQUARE_VALUES[1][2])
+                + PatternEvaluator.signedValue(digits[7], Constants.SQUARE_VALUES[2][1])
+                + PatternEvaluator.signedValue(digits[8], Constants.SQUARE_VALUES[2][2]);
+    }
+
+    /**
+     * This helper method scores the four middle squares of a diagonal, since its corners are scored by
+     * the edge patterns and the squares next to its corners by the corner patterns.
+     */
+    private static int scoreDiagonal(int[] digits) {
+        int score = 0;
+        for (int i=2; i<6; i++) {
+            score+=PatternEvaluator.signedValue(digits[i], Constants.SQUARE_VALUES[i][i]);
+        } return score;
+    }
+
+    /**
+     * This helper method returns a value for one digit of a pattern, which is positive for the player,
+     * negative for the opponent and zero for an empty square.
+     */
+    private static int signedValue(int digit, int value) {
+        if (digit==1) {
+            return value;
+        } if (digit==2) {
+            return -value;
+        } return 0;
+    }
+
+    /**
+     * This method returns the weights of this evaluator. The array is not copied, so it must not be
+     * changed while the evaluator is in use.
+     */
+    public int[] getWeights() {
+        return this.weights;
+    }
+}
@@ -0,0 +1,129 @@
+package othello;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class is a command line program which verifies the move generator and measures how fast it is.
+ * Perft counts the leaf nodes of the full game tree to a particular depth. A player with no legal moves
+ * passes, and a pass uses up one level of depth, just like it does in the SearchEngine. A position where
+ * neither player can move is a leaf, however deep it is. Since the counts from the starting position are
+ * well known, any change to the move generator that produces a different count has a bug.
+ *
+ * At the last level the legal moves are counted without being played, which is the bulk-counting fast
+ * path. The moves at the root can be split across several threads, each with its own copy of the board.
+ *
+ * Usage: Perft [maxDepth] [threads] [position] [side]
+ * The position is 64 characters in the format read by BitBoard.fromString(), and the side to move is
+ * "white" or "black". Without a position, perft starts from the starting position with white to move,
+ * and checks every count against the reference counts.
+ */
+public class Perft {
+    /*
+     * The number of leaf nodes at each depth from the starting position, from depth 0 up.
+     */
+    private static final long[] REFERENCE_COUNTS = {1L, 4L, 12L, 56L, 244L, 1396L, 8200L, 55092L, 390216L,
+            3005288L, 24571284L, 212258800L, 1939886636L, 18429641748L};
+
+    /**
+     * This is the mainline, which parses the optional arguments and runs perft to every depth up to the
+     * maximum depth, printing the node count, time and nodes per second for each. The program exits
+     * with a non-zero status if a count does not match its reference count.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int maxDepth = 9;
+        int threads = Runtime.getRuntime().availableProcessors();
+        BitBoard currBoard = BitBoard.startPosition();
+        boolean isBlack = false;
+        boolean checkReference = true;
+        if (args.length>0) {
+            maxDepth = Integer.parseInt(args[0]);
+        } if (args.length>1) {
+            threads = Integer.parseInt(args[1]);
+        } if (args.length>2) {
+            currBoard = BitBoard.fromString(args[2]);
+            checkReference = false;
+        } if (args.length>3) {
+            isBlack = args[3].equalsIgnoreCase("black");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        boolean allCorrect = true;
+        try {
+            System.out.println("depth           nodes        ms      nodes/sec  result");
+            for (int depth=1; depth<=maxDepth; depth++) {
+                long startTime = System.nanoTime();
+                long nodes = Perft.perftParallel(currBoard, depth, isBlack, executor);
+                double millis = (System.nanoTime()-startTime)/1e6;
+                String result = "";
+                if (checkReference && depth<REFERENCE_COUNTS.length) {
+                    if (nodes==REFERENCE_COUNTS[depth]) {
+                        result = "ok";
+                    } else {
+                        result = "MISMATCH, expected "+REFERENCE_COUNTS[depth];
+                        allCorrect = false;
+                    }
+                }
+                System.out.printf("%5d %15d %9.0f %14.0f  %s%n", depth, nodes, millis,
+                        nodes/Math.max(millis/1000, 1e-9), result);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!allCorrect) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This method counts the leaf nodes to a particular depth, searching each root move as a separate
+     * task on the executor. If the player to move has to pass, the position is counted on the current
+     * thread instead.
+     */
+    public static long perftParallel(BitBoard currBoard, int depth, boolean isBlack, ExecutorService executor)
+            throws InterruptedException, ExecutionException {
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (depth<=1 || legalMoves==0) {
+            return Perft.perft(new BitBoard(currBoard), depth, isBlack);
+        }
+        ArrayList<Future<Long>> rootTasks = new ArrayList<>();
+        while (legalMoves!=0) {
+            BitBoard newBoard = new BitBoard(currBoard);
+            newBoard.placePiece(Long.numberOfTrailingZeros(legalMoves), isBlack);
+            legalMoves &= legalMoves-1;
+            rootTasks.add(executor.submit(() -> Perft.perft(newBoard, depth-1, !isBlack)));
+        }
+        long nodes = 0;
+        for (Future<Long> rootTask: rootTasks) {
+            nodes+=rootTask.get();
+        } return nodes;
+    }
+
+    /**
+     * This method recursively counts the leaf nodes to a particular depth, playing and taking back moves
+     * on the board passed in. At a depth of one, the legal moves are counted rather than played.
+     */
+    public static long perft(BitBoard currBoard, int depth, boolean isBlack) {
+        if (depth==0) {
+            return 1;
+        }
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            if (currBoard.getLegalMoves(!isBlack)==0) {
+                return 1;
+            } return Perft.perft(currBoard, depth-1, !isBlack);
+        } if (depth==1) {
+            return Long.bitCount(legalMoves);
+        }
+        long nodes = 0;
+        while (legalMoves!=0) {
+            currBoard.makeMove(Long.numberOfTrailingZeros(legalMoves), isBlack);
+            nodes+=Perft.perft(currBoard, depth-1, !isBlack);
+            currBoard.undoMove();
+            legalMoves &= legalMoves-1;
+        } return nodes;
+    }
+}
@@ -0,0 +1,1005 @@
+package othello;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * This class is responsible for searching through hypothetical BitBoards to find the best move for a
+ * ComputerPlayer. Three search modes are supported. Minimax expands every legal move down to the base
+ * case. Alpha-beta skips any move that can be proven not to change the result, and principal-variation
+ * search (PVS) additionally tests every move after the first with a zero width window, only searching
+ * it fully when it turns out to be better. All three modes use fail-soft bounds and return exactly the
+ * same move and move value at the same depth, but the pruning modes visit a fraction of the nodes.
+ * The positions at the end of the search are scored by an Evaluator, which is a SquareValueEvaluator
+ * unless another one, such as a PatternEvaluator, is set with setEvaluator().
+ *
+ * A SearchEngine can also search with several threads, which share one TranspositionTable. A fixed
+ * depth search splits the root moves across a ForkJoinPool once the first move has been searched,
+ * and still returns the same move as a single threaded search. A timed search uses Lazy SMP, where
+ * helper threads run their own iterative deepening on the same position, some of them one level
+ * ahead of the main thread, and the results they store in the shared table speed up the main search.
+ *
+ * Near the end of the game, the SearchEngine can also hand the position to an EndgameSolver, which
+ * searches every line to the end of the game and finds the move with the best proven result.
+ *
+ * A timed search can also be started as a ponder search, which searches the position expected after
+ * the opponent's reply while the opponent is still thinking, with no time limit. If the opponent plays
+ * the expected move, ponderHit() turns it into a normal timed search whose time started when the
+ * pondering did, and otherwise stopPondering() abandons it.
+ *
+ * At the end of every search, the SearchEngine tells its SearchListeners what the search did, with a
+ * SearchStatistics holding the nodes visited, the time taken, the depth reached, the cutoff and
+ * TranspositionTable hit rates, and the principal variation.
+ */
+public class SearchEngine {
+    private static final int INFINITY = 1000000;
+    private static final int NO_CUTOFF = Integer.MIN_VALUE;
+    private static final int PARALLEL_MIN_DEPTH = 3;
+    private static final ExecutorService SEARCH_EXECUTOR = Executors.newSingleThreadExecutor((Runnable r) -> {
+        Thread searchThread = new Thread(r, "othello-search");
+        searchThread.setDaemon(true);
+        return searchThread;
+    });
+
+    private int searchMode;
+    private TranspositionTable transpositionTable;
+    private long nodeCount;
+    private int depthReached;
+    private volatile long deadline;
+    private long moveDeadline;
+    private boolean pondering;
+    private boolean searchAborted;
+    private AtomicInteger asyncSearchCount;
+    private volatile int lastStoppedSearch;
+    private volatile int runningSearch;
+    private SearchEngine mainEngine;
+    private SearchEngine[] helperEngines;
+    private ForkJoinPool helperPool;
+    private ConcurrentLinkedQueue<SearchEngine> idleHelpers;
+    private volatile boolean helpersStopped;
+    private EndgameSolver endgameSolver;
+    private MoveOrderer moveOrderer;
+    private Evaluator evaluator;
+    private CopyOnWriteArrayList<SearchListener> listeners;
+    private long searchStartTime;
+    private long tableProbesAtStart;
+    private long tableHitsAtStart;
+
+    /**
+     * The constructor for the SearchEngine class takes in one of the search mode constants defined
+     * in the Constants class, and the TranspositionTable used by the alpha-beta and PVS modes. The
+     * table may be null, in which case every position is searched from scratch. The SearchEngine
+     * created by this constructor searches with a single thread.
+     */
+    public SearchEngine(int searchMode, TranspositionTable transpositionTable) {
+        this(searchMode, transpositionTable, 1);
+    }
+
+    /**
+     * This constructor creates a SearchEngine which searches with a particular number of threads. If
+     * more than one thread is used, the constructor sets up one helper SearchEngine for every thread,
+     * all sharing the same TranspositionTable, and the ForkJoinPool they search in.
+     */
+    public SearchEngine(int searchMode, TranspositionTable transpositionTable, int threadCount) {
+        this.searchMode=searchMode;
+        this.transpositionTable=transpositionTable;
+        this.asyncSearchCount=new AtomicInteger();
+        this.moveOrderer=new MoveOrderer();
+        this.evaluator=new SquareValueEvaluator();
+        this.listeners=new CopyOnWriteArrayList<>();
+        this.helperEngines=new SearchEngine[0];
+        if (threadCount>1) {
+            this.helperEngines=new SearchEngine[threadCount];
+            for (int i=0; i<threadCount; i++) {
+                this.helperEngines[i]=new SearchEngine(searchMode, transpositionTable, this);
+                this.helperEngines[i].evaluator=this.evaluator;
+            }
+            this.helperPool=new ForkJoinPool(threadCount);
+            this.idleHelpers=new ConcurrentLinkedQueue<>(Arrays.asList(this.helperEngines));
+        }
+    }
+
+    /**
+     * This constructor creates one of the helper SearchEngines used by a multi-threaded SearchEngine.
+     * Helpers never age the shared TranspositionTable, and stop searching as soon as the main
+     * SearchEngine they belong to is stopped.
+     */
+    private SearchEngine(int searchMode, TranspositionTable transpositionTable, SearchEngine mainEngine) {
+        this.searchMode=searchMode;
+        this.transpositionTable=transpositionTable;
+        this.mainEngine=mainEngine;
+        this.moveOrderer=new MoveOrderer();
+        this.helperEngines=new SearchEngine[0];
+    }
+
+    /**
+     * This method returns the number of threads this SearchEngine searches with.
+     */
+    public int getThreadCount() {
+        return Math.max(1, this.helperEngines.length);
+    }
+
+    /**
+     * This method changes the Evaluator used to score the positions at the end of the search, for this
+     * SearchEngine and all of its helpers. A SearchEngine uses a SquareValueEvaluator until this is
+     * called. The Evaluator should not be changed while a search is running.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        this.evaluator=evaluator;
+        for (SearchEngine helper: this.helperEngines) {
+            helper.evaluator=evaluator;
+        }
+    }
+
+    /**
+     * This method returns the Evaluator used to score the positions at the end of the search.
+     */
+    public Evaluator getEvaluator() {
+        return this.evaluator;
+    }
+
+    /**
+     * This method returns the search mode this SearchEngine uses.
+     */
+    public int getSearchMode() {
+        return this.searchMode;
+    }
+
+    /**
+     * This method returns the TranspositionTable used by this SearchEngine, allowing its hit and miss
+     * statistics to be inspected after a search.
+     */
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    /**
+     * This method returns the number of hypothetical boards visited during the most recent search,
+     * including the boards visited by every helper thread.
+     */
+    public long getNodeCount() {
+        long totalNodes = this.nodeCount;
+        for (SearchEngine helper: this.helperEngines) {
+            totalNodes+=helper.nodeCount;
+        } return totalNodes;
+    }
+
+    /**
+     * This method returns the number of positions that ended in a cutoff during the most recent search,
+     * including the positions searched by every helper thread.
+     */
+    public long getCutoffCount() {
+        long totalCutoffs = this.moveOrderer.getCutoffCount();
+        for (SearchEngine helper: this.helperEngines) {
+            totalCutoffs+=helper.moveOrderer.getCutoffCount();
+        } return totalCutoffs;
+    }
+
+    /**
+     * This method returns the number of cutoffs during the most recent search that were caused by the
+     * first move searched, including the cutoffs found by every helper thread. Divided by the number of
+     * cutoffs, this shows how well the moves were ordered.
+     */
+    public long getFirstMoveCutoffCount() {
+        long totalCutoffs = this.moveOrderer.getFirstMoveCutoffCount();
+        for (SearchEngine helper: this.helperEngines) {
+            totalCutoffs+=helper.moveOrderer.getFirstMoveCutoffCount();
+        } return totalCutoffs;
+    }
+
+    /**
+     * This method returns the deepest search completed during the most recent search. For a fixed
+     * depth search this is the depth that was asked for, and for a timed search it is the depth of
+     * the last iteration that finished before the deadline.
+     */
+    public int getDepthReached() {
+        return this.depthReached;
+    }
+
+    /**
+     * This method determines the best possible move in a board state for a particular player,
+     * searching every move to a fixed depth. The TranspositionTable is aged at the start of every
+     * call, so each turn replaces the positions stored during the previous turn first. If the player
+     * has no legal moves, the method returns null. If this SearchEngine has helper threads, the root
+     * moves are searched in parallel. The search plays its moves on a copy of the board, so the board
+     * passed in is never changed.
+     */
+    public Move getBestMove(BitBoard board, int movesToBaseCase, boolean isBlack) {
+        BitBoard currBoard = new BitBoard(board);
+        this.startSearch(0);
+        Move bestMove;
+        if (this.helperEngines.length>0 && movesToBaseCase>=PARALLEL_MIN_DEPTH) {
+            bestMove = this.searchRootParallel(currBoard, movesToBaseCase, isBlack);
+        } else {
+            bestMove = this.searchRoot(currBoard, movesToBaseCase, isBlack, TranspositionTable.NO_MOVE);
+        }
+        this.depthReached=movesToBaseCase;
+        return this.finishSearch(board, isBlack, bestMove, false);
+    }
+
+    /**
+     * This method determines the best possible move in a board state for a particular player within a
+     * time limit, using iterative deepening. The method searches every move to a depth of one, then
+     * two, and so on, searching the best move of the previous iteration first each time. Once the
+     * deadline passes, the unfinished iteration is abandoned, and the best move of the deepest completed
+     * iteration is returned. The first iteration is always completed, so that a move is returned even
+     * with a very small time limit. If the player has no legal moves, the method returns null. If this
+     * SearchEngine has helper threads, they search the same position alongside the main search until
+     * the main search has finished.
+     */
+    public Move getBestMoveTimed(BitBoard board, boolean isBlack, long moveTimeMillis) {
+        long startTime = System.nanoTime();
+        BitBoard currBoard = new BitBoard(board);
+        this.startSearch(0);
+        Move bestMove = this.searchRoot(currBoard, 1, isBlack, TranspositionTable.NO_MOVE);
+        this.depthReached=1;
+        if (bestMove==null || Long.bitCount(currBoard.getLegalMoves(isBlack))==1) {
+            return this.finishSearch(board, isBlack, bestMove, false);
+        }
+
+        this.setTimedDeadline(startTime, moveTimeMillis);
+        ArrayList<ForkJoinTask<?>> helperTasks = this.startLazySmpHelpers(currBoard, isBlack);
+        for (int depth=2; depth<=currBoard.countEmpty() && System.nanoTime()<this.deadline; depth++) {
+            int firstSquare = BitBoard.toSquare(bestMove.getArrayXPos(), bestMove.getArrayYPos());
+            Move iterationMove = this.searchRoot(currBoard, depth, isBlack, firstSquare);
+            if (this.searchAborted) {
+                break;
+            }
+            bestMove=iterationMove;
+            this.depthReached=depth;
+        }
+        this.stopHelpers(helperTasks);
+        this.deadline=0;
+        return this.finishSearch(board, isBlack, bestMove, false);
+    }
+
+    /**
+     * This helper method sets the deadline of a timed search which started at a particular time. While
+     * the search is pondering, the deadline is put off until ponderHit() is called.
+     */
+    private synchronized void setTimedDeadline(long startTime, long moveTimeMillis) {
+        this.moveDeadline=startTime + moveTimeMillis*1000000;
+        if (this.pondering) {
+            this.deadline=Long.MAX_VALUE;
+        } else {
+            this.deadline=this.moveDeadline;
+        }
+    }
+
+    /**
+     * This method starts a ponder search on the dedicated search thread, which is a timed search that
+     * does not run out of time until ponderHit() is called. It returns a CompletableFuture which
+     * completes with the best move once the ponder search has been turned into a normal search and its
+     * time has run out, or once it has searched to the end of the game.
+     */
+    public CompletableFuture<Move> ponderTimedAsync(BitBoard currBoard, boolean isBlack, long moveTimeMillis) {
+        synchronized (this) {
+            this.pondering=true;
+        }
+        return this.getBestMoveTimedAsync(currBoard, isBlack, moveTimeMillis);
+    }
+
+    /**
+     * This method is called when the opponent plays the move a ponder search expected. The ponder
+     * search becomes a normal timed search, which counts the time spent pondering, so if the time
+     * limit has already passed it returns the best move of its deepest completed iteration straight
+     * away.
+     */
+    public synchronized void ponderHit() {
+        if (this.pondering) {
+            this.pondering=false;
+            if (this.deadline==Long.MAX_VALUE) {
+                this.deadline=this.moveDeadline;
+            }
+        }
+    }
+
+    /**
+     * This method is called when the opponent plays a different move from the one a ponder search
+     * expected, and stops every search started so far. The results the ponder search stored in the
+     * TranspositionTable are left there, since they are still correct, and are replaced first.
+     */
+    public void stopPondering() {
+        synchronized (this) {
+            this.pondering=false;
+        }
+        this.stopSearch();
+    }
+
+    /**
+     * This method predicts the move a particular player will play, so that the position after it can be
+     * searched while the player is thinking. The prediction is the best move the TranspositionTable
+     * holds for the position, which is the reply the last search expected, or if the table has no move
+     * for it, the move leaving the position the Evaluator likes best. The method returns
+     * TranspositionTable.NO_MOVE if the player has no legal moves. It is only called while no search
+     * is running.
+     */
+    public int predictMove(BitBoard board, boolean isBlack) {
+        long legalMoves = board.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            return TranspositionTable.NO_MOVE;
+        } if (this.transpositionTable!=null) {
+            int symmetry = Symmetry.tableSymmetry(board);
+            long entry = this.transpositionTable.probe(Symmetry.hash(board, isBlack, symmetry));
+            int hashMove = Symmetry.fromCanonicalSquare(TranspositionTable.getMove(entry), symmetry);
+            if (hashMove!=TranspositionTable.NO_MOVE && (legalMoves & (1L << hashMove))!=0) {
+                return hashMove;
+            }
+        }
+        BitBoard currBoard = new BitBoard(board);
+        int bestMove = TranspositionTable.NO_MOVE;
+        int bestValue = Integer.MIN_VALUE;
+        while (legalMoves!=0) {
+            int square = Long.numberOfTrailingZeros(legalMoves);
+            currBoard.makeMove(square, isBlack);
+            int moveValue = this.evaluator.evaluate(currBoard, isBlack);
+            currBoard.undoMove();
+            if (moveValue>bestValue) {
+                bestValue = moveValue;
+                bestMove = square;
+            }
+            legalMoves &= legalMoves-1;
+        } return bestMove;
+    }
+
+    /**
+     * This helper method starts a Lazy SMP helper search on every helper thread but one, since the
+     * thread running the main search counts as the remaining thread. Helpers are staggered, with every
+     * other helper starting one level deeper than the main search, and each helper searching a
+     * different root move first, so that the helpers fill the shared TranspositionTable with results
+     * the main search has not reached yet. Every helper is given its own copy of the board, since the
+     * main search plays its moves on the board while the helpers are running.
+     */
+    private ArrayList<ForkJoinTask<?>> startLazySmpHelpers(BitBoard currBoard, boolean isBlack) {
+        ArrayList<ForkJoinTask<?>> helperTasks = new ArrayList<>();
+        for (int i=1; i<this.helperEngines.length; i++) {
+            SearchEngine helper = this.helperEngines[i];
+            BitBoard helperBoard = new BitBoard(currBoard);
+            int firstDepth = 2 + i%2;
+            int rotation = i;
+            helperTasks.add(this.helperPool.submit(() -> helper.runLazySmpHelper(helperBoard, isBlack, firstDepth,
+                    rotation)));
+        } return helperTasks;
+    }
+
+    /**
+     * This helper method is run by a helper SearchEngine during a Lazy SMP search. It deepens the search
+     * one level at a time until the main SearchEngine stops it. The moves it finds are never played,
+     * only the results it stores in the shared TranspositionTable are used.
+     */
+    private void runLazySmpHelper(BitBoard currBoard, boolean isBlack, int firstDepth, int rotation) {
+        this.deadline=0;
+        this.searchAborted=false;
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        for (int i=0; i<rotation % Long.bitCount(legalMoves); i++) {
+            legalMoves &= legalMoves-1;
+        }
+        int firstSquare = Long.numberOfTrailingZeros(legalMoves);
+        for (int depth=firstDepth; depth<=currBoard.countEmpty() && !this.searchAborted; depth++) {
+            this.searchRoot(currBoard, depth, isBlack, firstSquare);
+        }
+    }
+
+    /**
+     * This helper method stops every helper search and waits for them to return, so that no helper is
+     * still searching once the main search returns its move.
+     */
+    private void stopHelpers(ArrayList<ForkJoinTask<?>> helperTasks) {
+        this.helpersStopped=true;
+        for (ForkJoinTask<?> helperTask: helperTasks) {
+            helperTask.join();
+        }
+    }
+
+    /**
+     * This helper method searches the root moves of a fixed depth search in parallel. The first move
+     * is searched on the current thread, and every remaining move is then searched on a helper thread
+     * with the first move's value as its lower bound. Since every move is checked against the same
+     * bound, a move that is better than the first move always gets its exact value, and picking the
+     * first of the best moves in board order gives exactly the same move as searching them one by one.
+     * Every move searched on a helper thread is played on its own copy of the board.
+     */
+    private Move searchRootParallel(BitBoard currBoard, int movesToBaseCase, boolean isBlack) {
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            return null;
+        }
+        int firstSquare = Long.numberOfTrailingZeros(legalMoves);
+        legalMoves &= legalMoves-1;
+        int firstValue = this.searchRootMove(currBoard, firstSquare, movesToBaseCase, isBlack, -INFINITY);
+        Move bestMove = new Move(BitBoard.getArrayXPos(firstSquare), BitBoard.getArrayYPos(firstSquare));
+        bestMove.setMoveValue(firstValue);
+        if (this.searchAborted) {
+            return bestMove;
+        }
+
+        ArrayList<ForkJoinTask<Move>> rootTasks = new ArrayList<>();
+        while (legalMoves!=0) {
+            int square = Long.numberOfTrailingZeros(legalMoves);
+            legalMoves &= legalMoves-1;
+            BitBoard helperBoard = new BitBoard(currBoard);
+            rootTasks.add(this.helperPool.submit(() -> this.searchRootMoveOnHelper(helperBoard, square,
+                    movesToBaseCase, isBlack, firstValue)));
+        }
+        for (ForkJoinTask<Move> rootTask: rootTasks) {
+            Move currMove = rootTask.join();
+            if (currMove.getMoveValue()>bestMove.getMoveValue()) {
+                bestMove=currMove;
+            }
+        }
+        if (this.helpersStopped) {
+            this.searchAborted=true;
+        }
+        return bestMove;
+    }
+
+    /**
+     * This helper method is run on a helper thread, and searches one root move using whichever helper
+     * SearchEngine is idle. If the helper runs out of time or is stopped, every other helper is told to
+     * stop as well.
+     */
+    private Move searchRootMoveOnHelper(BitBoard currBoard, int square, int movesToBaseCase, boolean isBlack,
+                                       int bestValue) {
+        SearchEngine helper = this.idleHelpers.poll();
+        try {
+            helper.deadline=this.deadline;
+            helper.searchAborted=false;
+            Move currMove = new Move(BitBoard.getArrayXPos(square), BitBoard.getArrayYPos(square));
+            currMove.setMoveValue(helper.searchRootMove(currBoard, square, movesToBaseCase, isBlack, bestValue));
+            if (helper.searchAborted) {
+                this.helpersStopped=true;
+            }
+            return currMove;
+        } finally {
+            this.idleHelpers.offer(helper);
+        }
+    }
+
+    /**
+     * This method finds the move with the best proven result for a particular player using an
+     * EndgameSolver, and returns it with its move value set to the final difference in pieces the
+     * player can force with perfect play. The solver and its TranspositionTable are only created the
+     * first time a position is solved. If the player has no legal moves, the method returns null.
+     */
+    public Move solveEndgame(BitBoard currBoard, boolean isBlack) {
+        this.startSearch(0);
+        if (this.endgameSolver==null) {
+            this.endgameSolver=new EndgameSolver(new TranspositionTable(Constants.ENDGAME_TT_SIZE_MB,
+                    Constants.TT_REPLACEMENT_POLICY), this::isStopRequested);
+        }
+        Move bestMove = this.endgameSolver.solve(currBoard, isBlack);
+        this.nodeCount=this.endgameSolver.getNodeCount();
+        this.searchAborted=this.endgameSolver.wasAborted();
+        this.depthReached=currBoard.countEmpty();
+        return this.finishSearch(currBoard, isBlack, bestMove, true);
+    }
+
+    /**
+     * This method starts solving an endgame position on the dedicated search thread, and returns a
+     * CompletableFuture which completes with the move with the best proven result. The solve can be
+     * ended early with stopSearch().
+     */
+    public CompletableFuture<Move> solveEndgameAsync(BitBoard currBoard, boolean isBlack) {
+        int searchNumber = this.asyncSearchCount.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> this.runAsyncSearch(searchNumber,
+                () -> this.solveEndgame(currBoard, isBlack)), SEARCH_EXECUTOR);
+    }
+
+    /**
+     * This method starts a fixed depth search on the dedicated search thread, and returns a
+     * CompletableFuture which completes with the best move once the search has finished. This allows
+     * a ComputerPlayer to search without freezing the Javafx application thread. The search can be
+     * ended early with stopSearch().
+     */
+    public CompletableFuture<Move> getBestMoveAsync(BitBoard currBoard, int movesToBaseCase, boolean isBlack) {
+        int searchNumber = this.asyncSearchCount.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> this.runAsyncSearch(searchNumber,
+                () -> this.getBestMove(currBoard, movesToBaseCase, isBlack)), SEARCH_EXECUTOR);
+    }
+
+    /**
+     * This method starts a timed search on the dedicated search thread, and returns a
+     * CompletableFuture which completes with the best move once the time limit has run out or the
+     * search has finished. The search can be ended early with stopSearch().
+     */
+    public CompletableFuture<Move> getBestMoveTimedAsync(BitBoard currBoard, boolean isBlack,
+                                                         long moveTimeMillis) {
+        int searchNumber = this.asyncSearchCount.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> this.runAsyncSearch(searchNumber,
+                () -> this.getBestMoveTimed(currBoard, isBlack, moveTimeMillis)), SEARCH_EXECUTOR);
+    }
+
+    /**
+     * This helper method runs a search on the search thread, recording which asynchronous search is
+     * running so that stopSearch() only stops searches that were started before it was called.
+     */
+    private Move runAsyncSearch(int searchNumber, Supplier<Move> search) {
+        this.runningSearch=searchNumber;
+        try {
+            return search.get();
+        } finally {
+            this.runningSearch=0;
+        }
+    }
+
+    /**
+     * This method asks every asynchronous search started so far, whether it is running or still
+     * waiting for the search thread, to stop as soon as possible. The search abandons its unfinished
+     * work in the same way a timed search does when it runs out of time. It is called when a game is
+     * reset while a ComputerPlayer is still thinking.
+     */
+    public void stopSearch() {
+        this.lastStoppedSearch=this.asyncSearchCount.get();
+    }
+
+    /**
+     * This method is called once the SearchEngine is no longer needed, and stops every asynchronous
+     * search it has started. The ForkJoinPool of its helpers is shut down on the search thread, after
+     * every search already waiting for that thread, so that a search which is still unwinding never
+     * finds the pool shut down, and the threads of the pool end as soon as the searches are done,
+     * instead of waiting until they have been idle for a while.
+     */
+    public void close() {
+        this.stopSearch();
+        if (this.helperPool!=null) {
+            SEARCH_EXECUTOR.execute(this.helperPool::shutdown);
+        }
+    }
+
+    /**
+     * This helper method resets the node count, the deadline and the TranspositionTable before a
+     * new search begins. A deadline of 0 means the search is not timed.
+     */
+    private void startSearch(long deadline) {
+        this.searchStartTime=System.nanoTime();
+        this.nodeCount=0;
+        this.depthReached=0;
+        this.deadline=deadline;
+        this.searchAborted=false;
+        this.helpersStopped=false;
+        this.moveOrderer.newSearch();
+        for (SearchEngine helper: this.helperEngines) {
+            helper.nodeCount=0;
+            helper.moveOrderer.newSearch();
+        }
+        if (this.transpositionTable!=null) {
+            this.transpositionTable.newSearch();
+            this.tableProbesAtStart=this.transpositionTable.getProbes();
+            this.tableHitsAtStart=this.transpositionTable.getHits();
+        }
+    }
+
+    /**
+     * This method registers a SearchListener, which is told what every search did from now on.
+     */
+    public void addSearchListener(SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * This method removes a SearchListener, so that it is no longer told about searches.
+     */
+    public void removeSearchListener(SearchListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * This helper method is called at the end of every search, and returns the move the search chose.
+     * If any SearchListeners are registered, it first collects the statistics of the search, including
+     * its principal variation, and hands them to every listener. Nothing is collected otherwise, so
+     * programs which search millions of positions without listeners, such as the Tournament, do not pay
+     * for it.
+     */
+    private Move finishSearch(BitBoard currBoard, boolean isBlack, Move bestMove, boolean endgame) {
+        if (this.listeners.isEmpty()) {
+            return bestMove;
+        }
+        long nanos = System.nanoTime()-this.searchStartTime;
+        long tableProbes = 0;
+        long tableHits = 0;
+        if (this.transpositionTable!=null && !endgame) {
+            tableProbes = this.transpositionTable.getProbes()-this.tableProbesAtStart;
+            tableHits = this.transpositionTable.getHits()-this.tableHitsAtStart;
+        }
+        int[] principalVariation = this.findPrincipalVariation(currBoard, isBlack, bestMove, endgame);
+        SearchStatistics statistics = new SearchStatistics(bestMove, isBlack, this.searchMode,
+                this.depthReached, this.getNodeCount(), nanos, this.getCutoffCount(),
+                this.getFirstMoveCutoffCount(), tableProbes, tableHits, this.searchAborted, principalVariation);
+        for (SearchListener listener: this.listeners) {
+            listener.searchFinished(statistics);
+        } return bestMove;
+    }
+
+    /**
+     * This helper method finds the principal variation of a search by playing its best move, and then
+     * following the best move the TranspositionTable holds for each position reached, until the table
+     * has no move for a position or the line is as long as the search was deep. A player with no legal
+     * moves passes. The EndgameSolver keeps its own table, so the principal variation of an endgame
+     * solve is only its best move.
+     */
+    private int[] findPrincipalVariation(BitBoard board, boolean isBlack, Move bestMove, boolean endgame) {
+        if (bestMove==null) {
+            return new int[0];
+        }
+        int maxLength = Math.max(1, Math.min(this.depthReached, GameRecord.MAX_MOVES));
+        if (endgame || this.transpositionTable==null) {
+            maxLength = 1;
+        }
+        int[] principalVariation = new int[maxLength];
+        BitBoard currBoard = new BitBoard(board);
+        int square = BitBoard.toSquare(bestMove.getArrayXPos(), bestMove.getArrayYPos());
+        int length = 0;
+        while (true) {
+            principalVariation[length]=square;
+            length++;
+            currBoard.placePiece(square, isBlack);
+            isBlack = !isBlack;
+            if (length==maxLength) {
+                break;
+            } if (currBoard.getLegalMoves(isBlack)==0) {
+                isBlack = !isBlack;
+            }
+            long legalMoves = currBoard.getLegalMoves(isBlack);
+            int symmetry = Symmetry.tableSymmetry(currBoard);
+            long entry = this.transpositionTable.probe(Symmetry.hash(currBoard, isBlack, symmetry));
+            square = Symmetry.fromCanonicalSquare(TranspositionTable.getMove(entry), symmetry);
+            if (legalMoves==0 || square==TranspositionTable.NO_MOVE || (legalMoves & (1L << square))==0) {
+                break;
+            }
+        } return Arrays.copyOf(principalVariation, length);
+    }
+
+    /**
+     * This helper method determines whether a search has been asked to stop, or whether a timed search
+     * has run past its deadline. Reading the clock is slow compared to searching a node, so this is
+     * only checked once every 1024 nodes. Once the search has been aborted, every recursive search
+     * method returns immediately. A helper SearchEngine also stops when its main SearchEngine does.
+     */
+    private boolean checkSearchAborted() {
+        if (!this.searchAborted && (this.nodeCount & 1023)==0
+                && (this.isStopRequested() || (this.mainEngine!=null && this.mainEngine.isStopRequested())
+                || (this.deadline!=0 && System.nanoTime()>=this.deadline))) {
+            this.searchAborted=true;
+        } return this.searchAborted;
+    }
+
+    /**
+     * This helper method determines whether the asynchronous search currently running has been
+     * stopped with stopSearch(), or whether the helpers of this SearchEngine have been told to stop.
+     */
+    private boolean isStopRequested() {
+        return this.helpersStopped || (this.runningSearch!=0 && this.runningSearch<=this.lastStoppedSearch);
+    }
+
+    /**
+     * This helper method searches every legal move at the root to a particular depth, and returns the
+     * first move leading to the most advantageous board state. The square passed in as firstSquare is
+     * searched first, and the remaining moves are searched in the same order the squares appear on the
+     * Board. Because a later move only replaces the best move when it is strictly better, each move
+     * after the first only needs to be searched with a lower bound equal to the best value found so
+     * far.
+     */
+    private Move searchRoot(BitBoard currBoard, int movesToBaseCase, boolean isBlack, int firstSquare) {
+        Move bestMove = null;
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        long firstMove = 0L;
+        if (firstSquare!=TranspositionTable.NO_MOVE) {
+            firstMove = legalMoves & (1L << firstSquare);
+            legalMoves &= ~firstMove;
+        }
+        while ((firstMove | legalMoves)!=0) {
+            int square;
+            if (firstMove!=0) {
+                square = firstSquare;
+                firstMove = 0L;
+            } else {
+                square = Long.numberOfTrailingZeros(legalMoves);
+                legalMoves &= legalMoves-1;
+            }
+
+            Move currMove = new Move(BitBoard.getArrayXPos(square), BitBoard.getArrayYPos(square));
+            if (bestMove==null) {
+                currMove.setMoveValue(this.searchRootMove(currBoard, square, movesToBaseCase, isBlack, -INFINITY));
+            } else {
+                currMove.setMoveValue(this.searchRootMove(currBoard, square, movesToBaseCase, isBlack,
+                        bestMove.getMoveValue()));
+            }
+            if (this.searchAborted) {
+                return bestMove;
+            }
+            if (bestMove==null || currMove.getMoveValue()>bestMove.getMoveValue()) {
+                bestMove=currMove;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * This helper method plays a move at the root, calculates its value, and takes the move back. The
+     * first move at the root is passed a best value of -INFINITY, and is searched with the full window.
+     * Every later move is only searched closely enough to tell whether it is better than the best value
+     * passed in, and its exact value is only calculated if it is.
+     */
+    private int searchRootMove(BitBoard currBoard, int square, int movesToBaseCase, boolean isBlack,
+                               int bestValue) {
+        currBoard.makeMove(square, isBlack);
+        this.nodeCount++;
+        int value;
+        if (movesToBaseCase==1) {
+            value = this.evaluator.evaluate(currBoard, isBlack);
+        } else if (bestValue==-INFINITY) {
+            value = -1 * this.search(currBoard, movesToBaseCase-1, !isBlack, -INFINITY, INFINITY);
+        } else {
+            value = -1 * this.searchAboveBound(currBoard, movesToBaseCase-1, !isBlack, -bestValue);
+        }
+        currBoard.undoMove();
+        return value;
+    }
+
+    /**
+     * This helper method searches a board for a move after the first one at the root. The opponent's
+     * value only matters if it is below the bound passed in, so PVS first checks this with a zero
+     * width window and only re-searches with the full window when the move turns out to be better.
+     */
+    private int searchAboveBound(BitBoard currBoard, int movesToBaseCase, boolean isBlack, int beta) {
+        if (this.searchMode==Constants.SEARCH_PVS) {
+            int value = this.principalVariation(currBoard, movesToBaseCase, isBlack, beta-1, beta);
+            if (value>=beta) {
+                return value;
+            }
+        } return this.search(currBoard, movesToBaseCase, isBlack, -INFINITY, beta);
+    }
+
+    /**
+     * This helper method calls the recursive search method matching the current search mode.
+     */
+    private int search(BitBoard currBoard, int movesToBaseCase, boolean isBlack, int alpha, int beta) {
+        if (this.searchMode==Constants.SEARCH_ALPHA_BETA) {
+            return this.alphaBeta(currBoard, movesToBaseCase, isBlack, alpha, beta);
+        } if (this.searchMode==Constants.SEARCH_PVS) {
+            return this.principalVariation(currBoard, movesToBaseCase, isBlack, alpha, beta);
+        } return this.minimax(currBoard, movesToBaseCase, isBlack);
+    }
+
+    /**
+     * This helper method returns the value of a board where the game has ended, from the perspective of
+     * a particular player. A finished game is worth 10000 for a win, -10000 for a loss and 0 for a draw.
+     */
+    private int calcGameOverValue(BitBoard currBoard, boolean isBlack) {
+        if (currBoard.countPieces(isBlack)>currBoard.countPieces(!isBlack)) {
+            return 10000;
+        } if (currBoard.countPieces(isBlack)<currBoard.countPieces(!isBlack)) {
+            return -10000;
+        } return 0;
+    }
+
+    /**
+     * This helper method checks the TranspositionTable entry of a position, and returns the stored score if
+     * it was searched to the same depth and its bound is tight enough to decide the value of the
+     * position within the window from alpha to beta. Otherwise the method returns NO_CUTOFF. Entries
+     * are only used at exactly the same depth, because the value of a board depends on how deep it is
+     * searched, and using deeper results would stop the search from matching minimax.
+     */
+    private int probeTranspositionTable(long entry, int movesToBaseCase, int alpha, int beta) {
+        if (entry==0 || TranspositionTable.getDepth(entry)!=movesToBaseCase) {
+            return NO_CUTOFF;
+        }
+        int score = TranspositionTable.getScore(entry);
+        int bound = TranspositionTable.getBound(entry);
+        if (bound==TranspositionTable.BOUND_EXACT
+                || (bound==TranspositionTable.BOUND_LOWER && score>=beta)
+                || (bound==TranspositionTable.BOUND_UPPER && score<=alpha)) {
+            return score;
+        } return NO_CUTOFF;
+    }
+
+    /**
+     * This helper method stores the result of searching a position in the TranspositionTable. The
+     * original alpha and beta determine whether the result is an exact score, or only a lower or
+     * upper bound on the score.
+     */
+    private void storeTranspositionTable(long key, int movesToBaseCase, int alpha, int beta, int bestValue,
+                                         int bestSquare) {
+        int bound = TranspositionTable.BOUND_EXACT;
+        if (bestValue<=alpha) {
+            bound = TranspositionTable.BOUND_UPPER;
+        } else if (bestValue>=beta) {
+            bound = TranspositionTable.BOUND_LOWER;
+        }
+        this.transpositionTable.store(key, movesToBaseCase, bound, bestValue, bestSquare);
+    }
+
+    /**
+     * This method recursively calculates the value of a board state for the player about to move,
+     * simulating all possible boards that could come from a sequence of moves. If the player has no
+     * legal moves, the turn passes to the opponent, and the value of the board is the negation of the
+     * opponent's value.
+     */
+    private int minimax(BitBoard currBoard, int movesToBaseCase, boolean isBlack) {
+        if (this.checkSearchAborted()) {
+            return 0;
+        }
+        if (currBoard.checkGameOver()) {
+            return this.calcGameOverValue(currBoard, isBlack);
+        }
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            if (movesToBaseCase==1) {
+                return -10000;
+            } return -1 * this.minimax(currBoard, movesToBaseCase-1, !isBlack);
+        }
+        int bestValue = -INFINITY;
+        while (legalMoves!=0) {
+            int square = Long.numberOfTrailingZeros(legalMoves);
+            legalMoves &= legalMoves-1;
+
+            currBoard.makeMove(square, isBlack);
+            this.nodeCount++;
+            int value;
+            if (movesToBaseCase==1) {
+                value = this.evaluator.evaluate(currBoard, isBlack);
+            } else {
+                value = -1 * this.minimax(currBoard, movesToBaseCase-1, !isBlack);
+            }
+            currBoard.undoMove();
+            if (this.searchAborted) {
+                return 0;
+            }
+            if (value>bestValue) {
+                bestValue=value;
+            }
+        } return bestValue;
+    }
+
+    /**
+     * This method calculates the same value as minimax(), but stops looking at the remaining moves as
+     * soon as one move reaches beta, because the opponent would never allow this board state. The
+     * method is fail-soft, meaning that when it stops early it returns the best value it found rather
+     * than the bound, which gives the caller a tighter bound to work with.
+     */
+    private int alphaBeta(BitBoard currBoard, int movesToBaseCase, boolean isBlack, int alpha, int beta) {
+        if (this.checkSearchAborted()) {
+            return 0;
+        }
+        long key = 0L;
+        int symmetry = Symmetry.IDENTITY;
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (this.transpositionTable!=null) {
+            symmetry = Symmetry.tableSymmetry(currBoard);
+            key = Symmetry.hash(currBoard, isBlack, symmetry);
+            long entry = this.transpositionTable.probe(key);
+            int storedValue = this.probeTranspositionTable(entry, movesToBaseCase, alpha, beta);
+            if (storedValue!=NO_CUTOFF) {
+                return storedValue;
+            }
+            hashMove = Symmetry.fromCanonicalSquare(TranspositionTable.getMove(entry), symmetry);
+        }
+        if (currBoard.checkGameOver()) {
+            return this.calcGameOverValue(currBoard, isBlack);
+        }
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            if (movesToBaseCase==1) {
+                return -10000;
+            } return -1 * this.alphaBeta(currBoard, movesToBaseCase-1, !isBlack, -beta, -alpha);
+        }
+        int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestSquare = TranspositionTable.NO_MOVE;
+        int moveCount = this.moveOrderer.orderMoves(legalMoves, hashMove, movesToBaseCase, isBlack);
+        int[] moveList = this.moveOrderer.getMoveList(movesToBaseCase);
+        for (int i=0; i<moveCount; i++) {
+            int square = moveList[i];
+
+            currBoard.makeMove(square, isBlack);
+            this.nodeCount++;
+            int value;
+            if (movesToBaseCase==1) {
+                value = this.evaluator.evaluate(currBoard, isBlack);
+            } else {
+                value = -1 * this.alphaBeta(currBoard, movesToBaseCase-1, !isBlack, -beta, -alpha);
+            }
+            currBoard.undoMove();
+            if (this.searchAborted) {
+                return 0;
+            }
+            if (value>bestValue) {
+                bestValue=value;
+                bestSquare=square;
+                if (value>alpha) {
+                    alpha=value;
+                } if (alpha>=beta) {
+                    this.moveOrderer.recordCutoff(square, i, movesToBaseCase, isBlack);
+                    break;
+                }
+            }
+        }
+        if (this.transpositionTable!=null) {
+            this.storeTranspositionTable(key, movesToBaseCase, originalAlpha, beta, bestValue,
+                    Symmetry.toCanonicalSquare(bestSquare, symmetry));
+        } return bestValue;
+    }
+
+    /**
+     * This method calculates the same value as alphaBeta(), but assumes that the first move is the
+     * best one. Every later move is only checked against a zero width window to prove that it is not
+     * better, and is searched again with the full window when that check fails.
+     */
+    private int principalVariation(BitBoard currBoard, int movesToBaseCase, boolean isBlack, int alpha,
+                                   int beta) {
+        if (this.checkSearchAborted()) {
+            return 0;
+        }
+        long key = 0L;
+        int symmetry = Symmetry.IDENTITY;
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (this.transpositionTable!=null) {
+            symmetry = Symmetry.tableSymmetry(currBoard);
+            key = Symmetry.hash(currBoard, isBlack, symmetry);
+            long entry = this.transpositionTable.probe(key);
+            int storedValue = this.probeTranspositionTable(entry, movesToBaseCase, alpha, beta);
+            if (storedValue!=NO_CUTOFF) {
+                return storedValue;
+            }
+            hashMove = Symmetry.fromCanonicalSquare(TranspositionTable.getMove(entry), symmetry);
+        }
+        if (currBoard.checkGameOver()) {
+            return this.calcGameOverValue(currBoard, isBlack);
+        }
+        long legalMoves = currBoard.getLegalMoves(isBlack);
+        if (legalMoves==0) {
+            if (movesToBaseCase==1) {
+                return -10000;
+            } return -1 * this.principalVariation(currBoard, movesToBaseCase-1, !isBlack, -beta, -alpha);
+        }
+        int originalAlpha = alpha;
+        int bestValue = -INFINITY;
+        int bestSquare = TranspositionTable.NO_MOVE;
+        int moveCount = this.moveOrderer.orderMoves(legalMoves, hashMove, movesToBaseCase, isBlack);
+        int[] moveList = this.moveOrderer.getMoveList(movesToBaseCase);
+        for (int i=0; i<moveCount; i++) {
+            int square = moveList[i];
+
+            currBoard.makeMove(square, isBlack);
+            this.nodeCount++;
+            int value;
+            if (movesToBaseCase==1) {
+                value = this.evaluator.evaluate(currBoard, isBlack);
+            } else if (i==0) {
+                value = -1 * this.principalVariation(currBoard, movesToBaseCase-1, !isBlack, -beta, -alpha);
+            } else {
+                value = -1 * this.principalVariation(currBoard, movesToBaseCase-1, !isBlack, -alpha-1, -alpha);
+                if (value>alpha && value<beta) {
+                    value = -1 * this.principalVariation(currBoard, movesToBaseCase-1, !isBlack, -beta, -alpha);
+                }
+            }
+            currBoard.undoMove();
+            if (this.searchAborted) {
+                return 0;
+            }
+            if (value>bestValue) {
+                bestValue=value;
+                bestSquare=square;
+                if (value>alpha) {
+                    alpha=value;
+                } if (alpha>=beta) {
+                    this.moveOrderer.recordCutoff(square, i, movesToBaseCase, isBlack);
+                    break;
+                }
+            }
+        }
+        if (this.transpositionTable!=null) {
+            this.storeTranspositionTable(key, movesToBaseCase, originalAlpha, beta, bestValue,
+                    Symmetry.toCanonicalSquare(bestSquare, symmetry));
+        } return bestValue;
+    }
+}
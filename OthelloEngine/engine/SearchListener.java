@@ -0,0 +1,15 @@
+package othello;
+
+/**
+ * This interface is implemented by anything which needs to know what a SearchEngine did, such as a
+ * SearchMetrics collecting statistics for JMX, or a program logging slow searches. SearchListeners
+ * are registered with a SearchEngine, which calls them once at the end of every search.
+ */
+public interface SearchListener {
+
+    /**
+     * This method is called at the end of every search, on the thread that ran the search, so it should
+     * return quickly and hand the statistics to another thread if it needs to do more.
+     */
+    void searchFinished(SearchStatistics statistics);
+}
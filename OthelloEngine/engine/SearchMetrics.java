@@ -0,0 +1,227 @@
+package othello;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class is a SearchListener which keeps the statistics of the last search a SearchEngine finished,
+ * along with totals over every search, such as the time the slowest search took. It is also a standard
+ * MBean, so once it has been registered, the statistics can be watched from a JMX console such as
+ * JConsole under the name "othello:type=SearchMetrics,name=..." while games are being played. The
+ * statistics are updated on the search thread and read on any other thread.
+ */
+public class SearchMetrics implements SearchListener, SearchMetricsMBean {
+    /*
+     * The SearchMetrics registered under each name, so that a SearchMetrics only ever unregisters the
+     * name while it is still its own. Registering and unregistering both lock this map.
+     */
+    private static final HashMap<ObjectName, SearchMetrics> REGISTERED = new HashMap<>();
+
+    private volatile SearchStatistics lastStatistics;
+    private long searchCount;
+    private long totalNodeCount;
+    private long totalNanos;
+    private long maxNanos;
+    private ObjectName objectName;
+
+    /**
+     * This method records the statistics of a search that has just finished.
+     */
+    @Override
+    public synchronized void searchFinished(SearchStatistics statistics) {
+        this.lastStatistics=statistics;
+        this.searchCount++;
+        this.totalNodeCount+=statistics.getNodeCount();
+        this.totalNanos+=statistics.getNanos();
+        this.maxNanos=Math.max(this.maxNanos, statistics.getNanos());
+    }
+
+    /**
+     * This method registers the SearchMetrics with the platform MBeanServer under a particular name,
+     * replacing any SearchMetrics registered under the same name before, such as the one of a player
+     * from the previous game. A SearchMetrics that cannot be registered is reported without stopping
+     * the game.
+     */
+    public void register(String name) {
+        synchronized (REGISTERED) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName("othello:type=SearchMetrics,name="
+                        +ObjectName.quote(name));
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(this, objectName);
+                REGISTERED.put(objectName, this);
+                this.objectName=objectName;
+            } catch (JMException e) {
+                System.err.println("Could not register search metrics: "+e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * This method removes the SearchMetrics from the platform MBeanServer, if it is still registered. If
+     * another SearchMetrics has since been registered under the same name, such as the one of a player
+     * in a newer game, that one is left registered.
+     */
+    public void unregister() {
+        synchronized (REGISTERED) {
+            if (this.objectName==null) {
+                return;
+            }
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (REGISTERED.remove(this.objectName, this) && server.isRegistered(this.objectName)) {
+                    server.unregisterMBean(this.objectName);
+                }
+            } catch (JMException e) {
+                System.err.println("Could not unregister search metrics: "+e.getMessage());
+            }
+            this.objectName=null;
+        }
+    }
+
+    /**
+     * This method returns the statistics of the last search, or null if no search has finished yet.
+     */
+    public SearchStatistics getLastStatistics() {
+        return this.lastStatistics;
+    }
+
+    /**
+     * This method returns the number of searches recorded.
+     */
+    @Override
+    public synchronized long getSearchCount() {
+        return this.searchCount;
+    }
+
+    /**
+     * This method returns the number of nodes visited by the last search, or 0 if no search has been
+     * recorded.
+     */
+    @Override
+    public long getLastNodeCount() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getNodeCount();
+    }
+
+    /**
+     * This method returns the nodes per second of the last search, or 0 if no search has been recorded.
+     */
+    @Override
+    public double getLastNodesPerSecond() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getNodesPerSecond();
+    }
+
+    /**
+     * This method returns the depth reached by the last search, or 0 if no search has been recorded.
+     */
+    @Override
+    public int getLastDepthReached() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getDepthReached();
+    }
+
+    /**
+     * This method returns how long the last search took in milliseconds, or 0 if no search has been
+     * recorded.
+     */
+    @Override
+    public double getLastMillis() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getMillis();
+    }
+
+    /**
+     * This method returns the share of nodes of the last search at which a move caused a beta cutoff,
+     * or 0 if no search has been recorded.
+     */
+    @Override
+    public double getLastCutoffRate() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getCutoffRate();
+    }
+
+    /**
+     * This method returns the share of cutoffs of the last search caused by the first move searched, or
+     * 0 if no search has been recorded.
+     */
+    @Override
+    public double getLastFirstMoveCutoffRate() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getFirstMoveCutoffRate();
+    }
+
+    /**
+     * This method returns the share of TranspositionTable lookups of the last search which found the
+     * position, or 0 if no search has been recorded.
+     */
+    @Override
+    public double getLastTableHitRate() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? 0 : statistics.getTableHitRate();
+    }
+
+    /**
+     * This method returns the principal variation of the last search in the standard notation, or an
+     * empty String if no search has been recorded.
+     */
+    @Override
+    public String getLastPrincipalVariation() {
+        SearchStatistics statistics = this.lastStatistics;
+        return statistics==null ? "" : statistics.getPrincipalVariationNotation();
+    }
+
+    /**
+     * This method returns the number of nodes visited by every search recorded.
+     */
+    @Override
+    public synchronized long getTotalNodeCount() {
+        return this.totalNodeCount;
+    }
+
+    /**
+     * This method returns the nodes per second over every search recorded.
+     */
+    @Override
+    public synchronized double getAverageNodesPerSecond() {
+        return this.totalNodeCount/Math.max(this.totalNanos/1e9, 1e-9);
+    }
+
+    /**
+     * This method returns the average time a search took in milliseconds.
+     */
+    @Override
+    public synchronized double getAverageMillis() {
+        if (this.searchCount==0) {
+            return 0;
+        } return this.totalNanos/1e6/this.searchCount;
+    }
+
+    /**
+     * This method returns the time the slowest search took in milliseconds, which shows whether any
+     * move was slow.
+     */
+    @Override
+    public synchronized double getMaxMillis() {
+        return this.maxNanos/1e6;
+    }
+
+    /**
+     * This method forgets every search recorded so far, for example after a change to the engine.
+     */
+    @Override
+    public synchronized void reset() {
+        this.lastStatistics=null;
+        this.searchCount=0;
+        this.totalNodeCount=0;
+        this.totalNanos=0;
+        this.maxNanos=0;
+    }
+}
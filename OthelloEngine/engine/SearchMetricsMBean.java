@@ -0,0 +1,79 @@
+package othello;
+
+/**
+ * This interface is the management interface of a SearchMetrics, listing the attributes and operations
+ * a JMX console such as JConsole shows for it.
+ */
+public interface SearchMetricsMBean {
+
+    /**
+     * This method returns the number of searches recorded.
+     */
+    long getSearchCount();
+
+    /**
+     * This method returns the number of nodes visited by the last search.
+     */
+    long getLastNodeCount();
+
+    /**
+     * This method returns the nodes per second of the last search.
+     */
+    double getLastNodesPerSecond();
+
+    /**
+     * This method returns the depth reached by the last search.
+     */
+    int getLastDepthReached();
+
+    /**
+     * This method returns how long the last search took in milliseconds.
+     */
+    double getLastMillis();
+
+    /**
+     * This method returns the share of nodes of the last search at which a move caused a beta cutoff.
+     */
+    double getLastCutoffRate();
+
+    /**
+     * This method returns the share of cutoffs of the last search caused by the first move searched.
+     */
+    double getLastFirstMoveCutoffRate();
+
+    /**
+     * This method returns the share of TranspositionTable lookups of the last search which found the
+     * position.
+     */
+    double getLastTableHitRate();
+
+    /**
+     * This method returns the principal variation of the last search in the standard notation.
+     */
+    String getLastPrincipalVariation();
+
+    /**
+     * This method returns the number of nodes visited by every search recorded.
+     */
+    long getTotalNodeCount();
+
+    /**
+     * This method returns the nodes per second over every search recorded.
+     */
+    double getAverageNodesPerSecond();
+
+    /**
+     * This method returns the average time a search took in milliseconds.
+     */
+    double getAverageMillis();
+
+    /**
+     * This method returns the time the slowest search took in milliseconds.
+     */
+    double getMaxMillis();
+
+    /**
+     * This method forgets every search recorded so far.
+     */
+    void reset();
+}
@@ -0,0 +1,184 @@
+package othello;
+
+/**
+ * This class holds what a SearchEngine did during one search: the move it chose, how deep it searched,
+ * how many nodes it visited and how long it took, how often a move caused a cutoff, how often the
+ * TranspositionTable held the position searched, and the principal variation, which is the line of
+ * best moves the search expects both players to play. A SearchStatistics never changes once it has
+ * been created, so it can be handed to other threads.
+ */
+public class SearchStatistics {
+    private Move bestMove;
+    private boolean isBlack;
+    private int searchMode;
+    private int depthReached;
+    private long nodeCount;
+    private long nanos;
+    private long cutoffCount;
+    private long firstMoveCutoffCount;
+    private long tableProbes;
+    private long tableHits;
+    private boolean aborted;
+    private int[] principalVariation;
+
+    /**
+     * The constructor for the SearchStatistics class takes in every counter of one search. The
+     * principal variation is a list of squares, starting with the best move, and is not copied.
+     */
+    public SearchStatistics(Move bestMove, boolean isBlack, int searchMode, int depthReached, long nodeCount,
+                            long nanos, long cutoffCount, long firstMoveCutoffCount, long tableProbes,
+                            long tableHits, boolean aborted, int[] principalVariation) {
+        this.bestMove=bestMove;
+        this.isBlack=isBlack;
+        this.searchMode=searchMode;
+        this.depthReached=depthReached;
+        this.nodeCount=nodeCount;
+        this.nanos=nanos;
+        this.cutoffCount=cutoffCount;
+        this.firstMoveCutoffCount=firstMoveCutoffCount;
+        this.tableProbes=tableProbes;
+        this.tableHits=tableHits;
+        this.aborted=aborted;
+        this.principalVariation=principalVariation;
+    }
+
+    /**
+     * This method returns the move the search chose, or null if the player had no legal moves.
+     */
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * This method returns whether the search was for the player with the black pieces.
+     */
+    public boolean isBlack() {
+        return this.isBlack;
+    }
+
+    /**
+     * This method returns the search mode constant, from the Constants class, the search used.
+     */
+    public int getSearchMode() {
+        return this.searchMode;
+    }
+
+    /**
+     * This method returns the depth of the deepest completed iteration, or the number of empty squares
+     * for an endgame solve.
+     */
+    public int getDepthReached() {
+        return this.depthReached;
+    }
+
+    /**
+     * This method returns the number of nodes visited, counting every helper thread.
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * This method returns how long the search took in nanoseconds.
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * This method returns how long the search took in milliseconds.
+     */
+    public double getMillis() {
+        return this.nanos/1e6;
+    }
+
+    /**
+     * This method returns the number of nodes visited per second.
+     */
+    public double getNodesPerSecond() {
+        return this.nodeCount/Math.max(this.nanos/1e9, 1e-9);
+    }
+
+    /**
+     * This method returns the number of moves which caused a beta cutoff.
+     */
+    public long getCutoffCount() {
+        return this.cutoffCount;
+    }
+
+    /**
+     * This method returns the share of nodes at which a move caused a beta cutoff.
+     */
+    public double getCutoffRate() {
+        if (this.nodeCount==0) {
+            return 0;
+        } return (double) this.cutoffCount/this.nodeCount;
+    }
+
+    /**
+     * This method returns the share of beta cutoffs which were caused by the first move searched, which
+     * shows how well the moves were ordered.
+     */
+    public double getFirstMoveCutoffRate() {
+        if (this.cutoffCount==0) {
+            return 0;
+        } return (double) this.firstMoveCutoffCount/this.cutoffCount;
+    }
+
+    /**
+     * This method returns the number of times the search looked a position up in the
+     * TranspositionTable.
+     */
+    public long getTableProbes() {
+        return this.tableProbes;
+    }
+
+    /**
+     * This method returns the share of TranspositionTable lookups which found the position.
+     */
+    public double getTableHitRate() {
+        if (this.tableProbes==0) {
+            return 0;
+        } return (double) this.tableHits/this.tableProbes;
+    }
+
+    /**
+     * This method returns whether the search was stopped before it finished, either because it was
+     * cancelled or because its time ran out partway through an iteration.
+     */
+    public boolean isAborted() {
+        return this.aborted;
+    }
+
+    /**
+     * This method returns a copy of the principal variation, as a list of squares starting with the
+     * best move. Passes are skipped.
+     */
+    public int[] getPrincipalVariation() {
+        return this.principalVariation.clone();
+    }
+
+    /**
+     * This method returns the principal variation in the standard notation, such as "f5 d6 c3".
+     */
+    public String getPrincipalVariationNotation() {
+        StringBuilder notation = new StringBuilder();
+        for (int square: this.principalVariation) {
+            if (notation.length()>0) {
+                notation.append(' ');
+            }
+            notation.append(GameNotation.toNotation(square));
+        } return notation.toString();
+    }
+
+    /**
+     * This method returns a short description of the search, one statistic per line, which the
+     * controls VBox displays under the turn label.
+     */
+    @Override
+    public String toString() {
+        return String.format("Depth %d, %.0f ms%n%,d nodes, %,.0f nodes/s%nCutoffs %.1f%%, TT hits %.1f%%%n"
+                +"PV %s", this.depthReached, this.getMillis(), this.nodeCount, this.getNodesPerSecond(),
+                100*this.getCutoffRate(), 100*this.getTableHitRate(), this.getPrincipalVariationNotation());
+    }
+}
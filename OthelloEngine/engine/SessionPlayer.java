@@ -0,0 +1,23 @@
+package othello;
+
+/**
+ * This interface is implemented by the players of a GameSession hosted by a GameServer. A player is
+ * asked for its move on the session's own thread, which is a virtual thread when the Java runtime has
+ * them, so a player waiting for a move from a person or over a network can simply block until the move
+ * arrives. Engine players, created by GameServer.createEnginePlayer(), hand the search to the server's
+ * shared pool of engine workers instead of searching on the session's thread.
+ */
+public interface SessionPlayer {
+
+    /**
+     * This method returns the BitBoard square of the move a particular player plays in a position. It is
+     * only called when the player has a legal move, and the session ends with an exception if the move
+     * returned is not legal.
+     */
+    int chooseMove(GameSession session, BitBoard currBoard, boolean isBlack) throws InterruptedException;
+
+    /**
+     * This method returns the name of the player, which is saved with the moves of the game.
+     */
+    String getName();
+}
@@ -0,0 +1,18 @@
+package othello;
+
+/**
+ * This class is the original evaluation function of the ComputerPlayer, which sums the positional
+ * advantage value in SQUARE_VALUES of every square a player occupies, and subtracts the value of every
+ * square the opponent occupies. It is the Evaluator a SearchEngine uses unless it is given another.
+ */
+public class SquareValueEvaluator implements Evaluator {
+
+    /**
+     * This method returns the positional advantage of a particular player, as calculated by
+     * BitBoard.calcBoardScore().
+     */
+    @Override
+    public int evaluate(BitBoard currBoard, boolean isBlack) {
+        return currBoard.calcBoardScore(isBlack);
+    }
+}
@@ -0,0 +1,157 @@
+package othello;
+
+/**
+ * This class finds the canonical version of a position among its eight symmetric versions. The rules
+ * of Othello are the same in every orientation of the board, and the starting position is itself
+ * symmetric, so the same position is often reached in several orientations. A cache keyed by the
+ * canonical version stores one entry for all of them, instead of up to eight, and the entries found for
+ * one orientation are reused for the others.
+ *
+ * The symmetries are numbered as in BitBoard.transformSquare(), and are applied to a whole bitboard at
+ * once: mirroring and flipping reverse the bits and the bytes of the long, and the diagonal reflection
+ * swaps groups of bits in three steps. The canonical version is the one whose black pieces, and then
+ * white pieces, form the smallest long. A move found in the canonical version is turned back into a
+ * move on the real board with fromCanonicalSquare().
+ */
+public class Symmetry {
+    public static final int IDENTITY = 0;
+
+    private static final long DIAGONAL_MASK_1 = 0x5500550055005500L;
+    private static final long DIAGONAL_MASK_2 = 0x3333000033330000L;
+    private static final long DIAGONAL_MASK_4 = 0x0f0f0f0f00000000L;
+
+    /**
+     * This method mirrors a bitboard horizontally, moving every piece to the same row in the opposite
+     * column.
+     */
+    public static long mirrorHorizontal(long pieces) {
+        return Long.reverseBytes(Long.reverse(pieces));
+    }
+
+    /**
+     * This method flips a bitboard vertically, moving every piece to the same column in the opposite
+     * row.
+     */
+    public static long flipVertical(long pieces) {
+        return Long.reverseBytes(pieces);
+    }
+
+    /**
+     * This method reflects a bitboard in the diagonal running through the square at row 1, column 1, so
+     * that rows become columns.
+     */
+    public static long flipDiagonal(long pieces) {
+        long swapped = DIAGONAL_MASK_4 & (pieces ^ (pieces << 28));
+        pieces ^= swapped ^ (swapped >>> 28);
+        swapped = DIAGONAL_MASK_2 & (pieces ^ (pieces << 14));
+        pieces ^= swapped ^ (swapped >>> 14);
+        swapped = DIAGONAL_MASK_1 & (pieces ^ (pieces << 7));
+        pieces ^= swapped ^ (swapped >>> 7);
+        return pieces;
+    }
+
+    /**
+     * This method moves every piece in a bitboard to the square it is moved to by one of the eight
+     * symmetries, giving the same result as calling BitBoard.transformSquare() on every piece.
+     */
+    public static long transform(long pieces, int symmetry) {
+        switch (symmetry) {
+            case 1:
+                return Symmetry.mirrorHorizontal(pieces);
+            case 2:
+                return Symmetry.flipVertical(pieces);
+            case 3:
+                return Long.reverse(pieces);
+            case 4:
+                return Symmetry.flipDiagonal(pieces);
+            case 5:
+                return Symmetry.mirrorHorizontal(Symmetry.flipDiagonal(pieces));
+            case 6:
+                return Symmetry.flipVertical(Symmetry.flipDiagonal(pieces));
+            case 7:
+                return Long.reverse(Symmetry.flipDiagonal(pieces));
+            default:
+                return pieces;
+        }
+    }
+
+    /**
+     * This method returns the symmetry which turns a position into its canonical version. When several
+     * symmetries give the canonical version, because the position is symmetric itself, the lowest
+     * numbered one is returned.
+     */
+    public static int canonicalSymmetry(BitBoard currBoard) {
+        long black = currBoard.getBlack();
+        long white = currBoard.getWhite();
+        int bestSymmetry = IDENTITY;
+        long bestBlack = black;
+        long bestWhite = white;
+        for (int symmetry=1; symmetry<BitBoard.SYMMETRIES; symmetry++) {
+            long transformedBlack = Symmetry.transform(black, symmetry);
+            if (transformedBlack>bestBlack) {
+                continue;
+            }
+            long transformedWhite = Symmetry.transform(white, symmetry);
+            if (transformedBlack<bestBlack || transformedWhite<bestWhite) {
+                bestSymmetry = symmetry;
+                bestBlack = transformedBlack;
+                bestWhite = transformedWhite;
+            }
+        } return bestSymmetry;
+    }
+
+    /**
+     * This method returns the Zobrist hash of a position after applying a particular symmetry, without
+     * creating a new BitBoard. The identity uses the hash the BitBoard keeps up to date, and only the
+     * other symmetries hash the transformed pieces from scratch.
+     */
+    public static long hash(BitBoard currBoard, boolean isBlack, int symmetry) {
+        if (symmetry==IDENTITY) {
+            return Zobrist.hash(currBoard, isBlack);
+        } return Zobrist.hash(Symmetry.transform(currBoard.getBlack(), symmetry),
+                Symmetry.transform(currBoard.getWhite(), symmetry), isBlack);
+    }
+
+    /**
+     * This method returns the Zobrist hash of the canonical version of a position, which is the same for
+     * all eight symmetric versions of the position.
+     */
+    public static long canonicalHash(BitBoard currBoard, boolean isBlack) {
+        return Symmetry.hash(currBoard, isBlack, Symmetry.canonicalSymmetry(currBoard));
+    }
+
+    /**
+     * This method returns the symmetry the TranspositionTable keys of a position are taken in. If
+     * CANONICAL_POSITIONS in the Constants class is true and the position has at most
+     * CANONICAL_MAX_PIECES pieces, this is the canonical symmetry, so that every orientation of the
+     * position shares one entry. Positions with more pieces are hardly ever reached in two orientations,
+     * so they are keyed as they are, which saves finding their canonical version at every node. The
+     * choice only depends on the position, so every orientation of a position makes the same one.
+     */
+    public static int tableSymmetry(BitBoard currBoard) {
+        int pieceCount = Long.bitCount(currBoard.getBlack() | currBoard.getWhite());
+        if (Constants.CANONICAL_POSITIONS && pieceCount<=Constants.CANONICAL_MAX_PIECES) {
+            return Symmetry.canonicalSymmetry(currBoard);
+        } return IDENTITY;
+    }
+
+    /**
+     * This method turns a square on the real board into the matching square of the version of the
+     * position given by a particular symmetry, leaving TranspositionTable.NO_MOVE unchanged.
+     */
+    public static int toCanonicalSquare(int square, int symmetry) {
+        if (square<0) {
+            return square;
+        } return BitBoard.transformSquare(square, symmetry);
+    }
+
+    /**
+     * This method turns a square of the version of the position given by a particular symmetry back into
+     * the matching square on the real board, leaving TranspositionTable.NO_MOVE unchanged.
+     */
+    public static int fromCanonicalSquare(int square, int symmetry) {
+        if (square<0) {
+            return square;
+        } return BitBoard.transformSquare(square, BitBoard.inverseSymmetry(symmetry));
+    }
+}
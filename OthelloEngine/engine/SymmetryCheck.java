@@ -0,0 +1,114 @@
+package othello;
+
+import java.util.Random;
+
+/**
+ * This class is a command line program which checks that positions can safely share one entry for all
+ * eight of their orientations, as the TranspositionTable and the OpeningBook do. It plays random games,
+ * and turns every position reached into each of its orientations with Symmetry.transform(). Every
+ * orientation must have the same canonical hash, and every Evaluator the SearchEngine can use must give
+ * every orientation the same score for both players, or a table hit could return a score found for a
+ * different orientation. The PatternEvaluator is checked with the hand tuned weights, the weights in the
+ * weight file if there is one, and random weights, since trained weights can take any value.
+ *
+ * Usage: SymmetryCheck [games] [seed]
+ * The defaults are 1000 games with a seed of 1. The program exits with a non-zero status if any
+ * orientation of a position differs.
+ */
+public class SymmetryCheck {
+
+    /**
+     * This is the mainline, which parses the optional arguments, plays the games, and prints how many
+     * positions were checked and how many of them differed between orientations.
+     */
+    public static void main(String[] args) {
+        int games = 1000;
+        long seed = 1;
+        if (args.length>0) {
+            games = Integer.parseInt(args[0]);
+        } if (args.length>1) {
+            seed = Long.parseLong(args[1]);
+        }
+
+        Random random = new Random(seed);
+        Evaluator[] evaluators = {new SquareValueEvaluator(), new PatternEvaluator(),
+                PatternEvaluator.getDefaultEvaluator(), SymmetryCheck.createRandomEvaluator(random)};
+        String[] names = {"square values", "hand tuned patterns", "default patterns", "random patterns"};
+        int[] failures = new int[evaluators.length];
+        int hashFailures = 0;
+        long positions = 0;
+        for (int game=0; game<games; game++) {
+            BitBoard currBoard = BitBoard.startPosition();
+            boolean isBlack = false;
+            while (!currBoard.checkGameOver()) {
+                positions++;
+                if (!SymmetryCheck.hashesMatch(currBoard, isBlack)) {
+                    hashFailures++;
+                }
+                for (int i=0; i<evaluators.length; i++) {
+                    if (!SymmetryCheck.scoresMatch(evaluators[i], currBoard)) {
+                        failures[i]++;
+                    }
+                }
+                long legalMoves = currBoard.getLegalMoves(isBlack);
+                if (legalMoves!=0) {
+                    for (int skip=random.nextInt(Long.bitCount(legalMoves)); skip>0; skip--) {
+                        legalMoves &= legalMoves-1;
+                    }
+                    currBoard.placePiece(Long.numberOfTrailingZeros(legalMoves), isBlack);
+                }
+                isBlack=!isBlack;
+            }
+        }
+
+        boolean allCorrect = hashFailures==0;
+        System.out.println(positions+" positions from "+games+" games");
+        System.out.println("canonical hash: "+(hashFailures==0 ? "OK" : hashFailures+" positions differ"));
+        for (int i=0; i<evaluators.length; i++) {
+            System.out.println(names[i]+": "+(failures[i]==0 ? "OK" : failures[i]+" positions differ"));
+            allCorrect &= failures[i]==0;
+        }
+        if (!allCorrect) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This helper method creates a PatternEvaluator whose weights are all random, so that no symmetry of
+     * the hand tuned weights can hide a pattern read differently in different orientations.
+     */
+    private static PatternEvaluator createRandomEvaluator(Random random) {
+        int[] weights = new int[PatternEvaluator.WEIGHT_COUNT];
+        for (int i=0; i<weights.length; i++) {
+            weights[i]=random.nextInt(2001)-1000;
+        } return new PatternEvaluator(weights);
+    }
+
+    /**
+     * This helper method returns whether every orientation of a position has the same canonical hash.
+     */
+    private static boolean hashesMatch(BitBoard currBoard, boolean isBlack) {
+        long hash = Symmetry.canonicalHash(currBoard, isBlack);
+        for (int symmetry=1; symmetry<BitBoard.SYMMETRIES; symmetry++) {
+            if (Symmetry.canonicalHash(currBoard.transform(symmetry), isBlack)!=hash) {
+                return false;
+            }
+        } return true;
+    }
+
+    /**
+     * This helper method returns whether an Evaluator gives every orientation of a position the same
+     * score, for both players.
+     */
+    private static boolean scoresMatch(Evaluator evaluator, BitBoard currBoard) {
+        int blackScore = evaluator.evaluate(currBoard, true);
+        int whiteScore = evaluator.evaluate(currBoard, false);
+        for (int symmetry=1; symmetry<BitBoard.SYMMETRIES; symmetry++) {
+            BitBoard transformedBoard = currBoard.transform(symmetry);
+            if (evaluator.evaluate(transformedBoard, true)!=blackScore
+                    || evaluator.evaluate(transformedBoard, false)!=whiteScore) {
+                return false;
+            }
+        } return true;
+    }
+}
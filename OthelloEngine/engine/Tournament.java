@@ -0,0 +1,328 @@
+package othello;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a command line program which plays a match between two engine settings, without the
+ * JavaFX game or the Referee. Games are played by EnginePlayers on worker threads, each with its own
+ * pair of players, so thousands of games at a low depth finish in a few minutes.
+ *
+ * Every opening is played twice, once with each engine moving first, so that neither engine gains from
+ * a lopsided opening. Openings are either a number of random legal moves from the starting position, or
+ * lines from the OpeningBook, where every ply picks one of the moves whose resulting position the book
+ * has searched. The openings only depend on the seed, so a match can be repeated exactly. Every game,
+ * opening included, can also be written to a game file, which is how the self-play games used by the
+ * WeightTrainer are created.
+ *
+ * Usage: Tournament [engineA] [engineB] [games] [threads] [openingPlies] [random|book] [seed] [gameFile]
+ * The engines are written in the format read by the EnginePlayer class, such as pvs/4 or ab/50ms.
+ */
+public class Tournament {
+    private static final int TABLE_SIZE_MB = 4;
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private String settingsA;
+    private String settingsB;
+    private int openingPlies;
+    private boolean bookOpenings;
+    private long seed;
+    private OpeningBook openingBook;
+    private GameRecordWriter gameWriter;
+    private ThreadLocal<EnginePlayer[]> workerPlayers;
+    private ArrayList<EnginePlayer[]> allPlayers;
+    private AtomicInteger gamesFinished;
+    private int winsA;
+    private int draws;
+    private int winsB;
+
+    /**
+     * The constructor for the Tournament class takes in the settings of the two engines and how the
+     * openings are chosen. Each worker thread creates its own pair of EnginePlayers the first time it
+     * plays a game, since a SearchEngine can only search one position at a time.
+     */
+    public Tournament(String settingsA, String settingsB, int openingPlies, boolean bookOpenings, long seed) {
+        this.settingsA=settingsA;
+        this.settingsB=settingsB;
+        this.openingPlies=openingPlies;
+        this.bookOpenings=bookOpenings;
+        this.seed=seed;
+        this.allPlayers=new ArrayList<>();
+        this.gamesFinished=new AtomicInteger();
+        this.workerPlayers=ThreadLocal.withInitial(() -> {
+            EnginePlayer[] players = {new EnginePlayer(settingsA, TABLE_SIZE_MB),
+                    new EnginePlayer(settingsB, TABLE_SIZE_MB)};
+            synchronized (this.allPlayers) {
+                this.allPlayers.add(players);
+            }
+            return players;
+        });
+        if (bookOpenings) {
+            this.openingBook=OpeningBook.getDefaultBook();
+            if (this.openingBook==null) {
+                throw new IllegalStateException("No opening book found at "+Constants.OPENING_BOOK_FILE);
+            }
+        }
+    }
+
+    /**
+     * This is the mainline, which parses the optional arguments, plays the match and prints the result.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        String settingsA = "pvs/4";
+        String settingsB = "ab/3";
+        int games = 10000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int openingPlies = 8;
+        boolean bookOpenings = false;
+        long seed = 1;
+        if (args.length>0) {
+            settingsA = args[0];
+        } if (args.length>1) {
+            settingsB = args[1];
+        } if (args.length>2) {
+            games = Integer.parseInt(args[2]);
+        } if (args.length>3) {
+            threads = Integer.parseInt(args[3]);
+        } if (args.length>4) {
+            openingPlies = Integer.parseInt(args[4]);
+        } if (args.length>5) {
+            bookOpenings = args[5].equalsIgnoreCase("book");
+        } if (args.length>6) {
+            seed = Long.parseLong(args[6]);
+        }
+
+        Tournament tournament = new Tournament(settingsA, settingsB, openingPlies, bookOpenings, seed);
+        System.out.println(settingsA+" vs "+settingsB+", "+games+" games on "+threads+" threads, "
+                +(bookOpenings ? "book" : "random")+" openings of "+openingPlies+" plies");
+        long startTime = System.nanoTime();
+        if (args.length>7) {
+            try (GameRecordWriter gameWriter = new GameRecordWriter(Paths.get(args[7]))) {
+                tournament.setGameWriter(gameWriter);
+                tournament.play(games, threads);
+            }
+        } else {
+            tournament.play(games, threads);
+        }
+        double seconds = (System.nanoTime()-startTime)/1e9;
+        tournament.printResult(seconds);
+    }
+
+    /**
+     * This method sets the GameRecordWriter every finished game is written to.
+     */
+    public void setGameWriter(GameRecordWriter gameWriter) {
+        this.gameWriter=gameWriter;
+    }
+
+    /**
+     * This method plays a particular number of games across a particular number of threads. Games are
+     * submitted in pairs sharing one opening, with the engines swapping colors for the second game.
+     */
+    public void play(int games, int threads) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ArrayList<Future<?>> pairTasks = new ArrayList<>();
+            for (int pair=0; pair<(games+1)/2; pair++) {
+                int pairIndex = pair;
+                boolean playSecondGame = 2*pair+1<games;
+                pairTasks.add(executor.submit(() -> this.playPair(pairIndex, playSecondGame)));
+            }
+            for (Future<?> pairTask: pairTasks) {
+                pairTask.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * This helper method plays one or both games of a pair from the same opening, and records the results.
+     */
+    private void playPair(int pairIndex, boolean playSecondGame) {
+        EnginePlayer[] players = this.workerPlayers.get();
+        BitBoard openingBoard = BitBoard.startPosition();
+        GameRecord opening = new GameRecord();
+        boolean isBlack = this.playOpening(openingBoard, opening, new Random(this.seed*1000003 + pairIndex));
+        this.recordResult(this.playGame(openingBoard, opening, isBlack, players[0], players[1]));
+        if (playSecondGame) {
+            this.recordResult(-this.playGame(openingBoard, opening, isBlack, players[1], players[0]));
+        }
+    }
+
+    /**
+     * This helper method plays the opening moves on the starting position, and returns whether black is to
+     * move afterwards. White moves first, as it does in the game. A random opening plays uniformly random
+     * legal moves, and a book opening plays a random move out of those leading to a position in the book,
+     * stopping early once the book has nothing to offer. The moves played are added to a GameRecord.
+     */
+    private boolean playOpening(BitBoard currBoard, GameRecord opening, Random random) {
+        boolean isBlack = false;
+        for (int ply=0; ply<this.openingPlies; ply++) {
+            long legalMoves = currBoard.getLegalMoves(isBlack);
+            if (legalMoves==0) {
+                break;
+            }
+            if (this.bookOpenings) {
+                legalMoves = this.getBookMoves(currBoard, legalMoves, isBlack);
+                if (legalMoves==0) {
+                    break;
+                }
+            }
+            int choice = random.nextInt(Long.bitCount(legalMoves));
+            for (int i=0; i<choice; i++) {
+                legalMoves &= legalMoves-1;
+            }
+            currBoard.placePiece(Long.numberOfTrailingZeros(legalMoves), isBlack);
+            opening.addMove(Long.numberOfTrailingZeros(legalMoves));
+            isBlack = !isBlack;
+        } return isBlack;
+    }
+
+    /**
+     * This helper method returns the legal moves which lead to a position stored in the OpeningBook. If
+     * none do, but the book has a move for the current position, the book move is returned on its own.
+     */
+    private long getBookMoves(BitBoard currBoard, long legalMoves, boolean isBlack) {
+        long bookMoves = 0;
+        long remainingMoves = legalMoves;
+        while (remainingMoves!=0) {
+            int square = Long.numberOfTrailingZeros(remainingMoves);
+            remainingMoves &= remainingMoves-1;
+            currBoard.makeMove(square, isBlack);
+            if (this.openingBook.lookup(currBoard, !isBlack)!=null) {
+                bookMoves |= 1L << square;
+            }
+            currBoard.undoMove();
+        }
+        if (bookMoves==0) {
+            Move bookMove = this.openingBook.lookup(currBoard, isBlack);
+            if (bookMove!=null) {
+                bookMoves = BitBoard.toMask(bookMove.getArrayXPos(), bookMove.getArrayYPos());
+            }
+        } return bookMoves;
+    }
+
+    /**
+     * This helper method plays one game to the end from a particular position, and returns 1 if the
+     * first player wins, -1 if the second player wins, and 0 for a draw. The first player plays the
+     * color that is to move in the position. A player with no legal moves passes. If there is a
+     * GameRecordWriter, the opening, the moves and the players of the game are written to it once the
+     * game ends.
+     */
+    private int playGame(BitBoard openingBoard, GameRecord opening, boolean isBlack, EnginePlayer firstPlayer,
+                         EnginePlayer secondPlayer) {
+        BitBoard currBoard = new BitBoard(openingBoard);
+        GameRecord gameRecord = new GameRecord();
+        gameRecord.copyFrom(opening);
+        boolean firstPlayerIsBlack = isBlack;
+        firstPlayer.newGame();
+        secondPlayer.newGame();
+        while (!currBoard.checkGameOver()) {
+            if (currBoard.getLegalMoves(isBlack)!=0) {
+                EnginePlayer mover = isBlack==firstPlayerIsBlack ? firstPlayer : secondPlayer;
+                Move bestMove = mover.getMove(currBoard, isBlack);
+                int square = BitBoard.toSquare(bestMove.getArrayXPos(), bestMove.getArrayYPos());
+                currBoard.placePiece(square, isBlack);
+                gameRecord.addMove(square);
+            }
+            isBlack = !isBlack;
+        }
+        int pieceDifference = currBoard.countPieces(true)-currBoard.countPieces(false);
+        if (this.gameWriter!=null) {
+            gameRecord.setDiscDifference(pieceDifference);
+            if (firstPlayerIsBlack) {
+                gameRecord.setPlayers(firstPlayer.getSettings(), secondPlayer.getSettings());
+            } else {
+                gameRecord.setPlayers(secondPlayer.getSettings(), firstPlayer.getSettings());
+            }
+            try {
+                this.gameWriter.writeGame(gameRecord);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (!firstPlayerIsBlack) {
+            pieceDifference = -pieceDifference;
+        }
+        return Integer.signum(pieceDifference);
+    }
+
+    /**
+     * This helper method records the result of a game from the point of view of engine A, and prints
+     * the running score every so often.
+     */
+    private void recordResult(int result) {
+        synchronized (this) {
+            if (result>0) {
+                this.winsA++;
+            } else if (result<0) {
+                this.winsB++;
+            } else {
+                this.draws++;
+            }
+        }
+        int finished = this.gamesFinished.incrementAndGet();
+        if (finished%PROGRESS_INTERVAL==0) {
+            synchronized (this) {
+                System.out.printf("%d games: +%d =%d -%d%n", finished, this.winsA, this.draws, this.winsB);
+            }
+        }
+    }
+
+    /**
+     * This method prints the wins, draws and losses of engine A, the Elo difference with a 95% error
+     * bar, and the average speed, time per move and share of first move cutoffs of each engine.
+     */
+    public synchronized void printResult(double seconds) {
+        int games = this.winsA+this.draws+this.winsB;
+        System.out.printf("%nFinished %d games in %.1f s%n", games, seconds);
+        System.out.printf("%s vs %s: +%d =%d -%d%n", this.settingsA, this.settingsB, this.winsA, this.draws,
+                this.winsB);
+        double score = (this.winsA + 0.5*this.draws)/games;
+        double deviation = Math.sqrt((this.winsA*Math.pow(1-score, 2) + this.draws*Math.pow(0.5-score, 2)
+                + this.winsB*Math.pow(score, 2))/games);
+        double margin = 1.96*deviation/Math.sqrt(games);
+        double elo = Tournament.scoreToElo(score);
+        double errorBar = (Tournament.scoreToElo(score+margin)-Tournament.scoreToElo(score-margin))/2;
+        System.out.printf("Score %.1f%%, Elo difference %+.1f +/- %.1f (95%%)%n", 100*score, elo, errorBar);
+
+        long[] nodes = new long[2];
+        long[] nanos = new long[2];
+        long[] moves = new long[2];
+        long[] cutoffs = new long[2];
+        long[] firstMoveCutoffs = new long[2];
+        for (EnginePlayer[] players: this.allPlayers) {
+            for (int i=0; i<2; i++) {
+                nodes[i]+=players[i].getTotalNodes();
+                nanos[i]+=players[i].getTotalNanos();
+                moves[i]+=players[i].getMovesPlayed();
+                cutoffs[i]+=players[i].getTotalCutoffs();
+                firstMoveCutoffs[i]+=players[i].getTotalFirstMoveCutoffs();
+            }
+        }
+        String[] settings = {this.settingsA, this.settingsB};
+        System.out.println("engine            nodes/sec   ms/move  first move cutoffs");
+        for (int i=0; i<2; i++) {
+            System.out.printf("%-12s %14.0f %9.3f %18.1f%%%n", settings[i], nodes[i]/Math.max(nanos[i]/1e9, 1e-9),
+                    nanos[i]/1e6/Math.max(moves[i], 1), 100.0*firstMoveCutoffs[i]/Math.max(cutoffs[i], 1));
+        }
+    }
+
+    /**
+     * This helper method converts an expected score between zero and one into an Elo difference. Scores
+     * of exactly zero or one are clamped, since they would be an infinite difference.
+     */
+    private static double scoreToElo(double score) {
+        double clampedScore = Math.min(Math.max(score, 1e-6), 1-1e-6);
+        return -400*Math.log10(1/clampedScore - 1);
+    }
+}
@@ -0,0 +1,268 @@
+package othello;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the results of positions that the SearchEngine has already searched, so that a
+ * position reached again through a different order of moves does not need to be searched from scratch.
+ * The table has a fixed size given in megabytes, and is indexed by the Zobrist hash of a position and
+ * the player to move. Every entry stores the depth the position was searched to, whether the score is
+ * exact or only a bound, the score, and the best move found.
+ *
+ * Entries are grouped into buckets, and the replacement policy decides which entry in a bucket is
+ * overwritten when a new result is stored. With the depth-preferred policy, a bucket holds one entry
+ * which is only replaced by a search that is at least as deep. With the always-replace policy, a bucket
+ * holds one entry which is always replaced. The two-tier policy combines both, with a depth-preferred
+ * entry and an always-replace entry in every bucket. Entries stored during an earlier search can always
+ * be replaced, which lets the table age between turns instead of filling up with old positions.
+ *
+ * To avoid creating objects during a search, entries are packed into longs. The probe() method returns
+ * the packed entry, and the static getter methods unpack its fields.
+ *
+ * A single table can be shared by several threads searching at the same time without any locking.
+ * Instead of the key itself, every slot stores the key combined with the entry using an exclusive or.
+ * If two threads write the same slot at once and the slot ends up holding the key of one entry and the
+ * data of the other, the combination no longer matches either key, so the broken entry is treated as a
+ * miss rather than returning the wrong score. The statistics counters are not synchronized, so they are
+ * only approximate while several threads share the table.
+ */
+public class TranspositionTable {
+    public static final int BOUND_EXACT = 0;
+    public static final int BOUND_LOWER = 1;
+    public static final int BOUND_UPPER = 2;
+    public static final int NO_MOVE = -1;
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+    private static final int AGE_SHIFT = 49;
+
+    private long[] keys;
+    private long[] entries;
+    private int replacementPolicy;
+    private int entriesPerBucket;
+    private long bucketMask;
+    private int age;
+    private long probes;
+    private long hits;
+    private long stores;
+    private long overwrites;
+
+    /**
+     * The constructor for the TranspositionTable class allocates as many entries as fit in the given
+     * number of megabytes, rounded down to a power of two. The replacement policy is one of the
+     * transposition table policy constants in the Constants class.
+     */
+    public TranspositionTable(int sizeInMB, int replacementPolicy) {
+        this.replacementPolicy=replacementPolicy;
+        if (replacementPolicy==Constants.TT_TWO_TIER) {
+            this.entriesPerBucket=2;
+        } else {
+            this.entriesPerBucket=1;
+        }
+        long maxBuckets=Math.max(1L, (long) sizeInMB*1024*1024/BYTES_PER_ENTRY/this.entriesPerBucket);
+        long buckets=Long.highestOneBit(Math.min(maxBuckets, Integer.MAX_VALUE/this.entriesPerBucket));
+        this.bucketMask=buckets-1;
+        this.keys=new long[(int) buckets*this.entriesPerBucket];
+        this.entries=new long[(int) buckets*this.entriesPerBucket];
+    }
+
+    /**
+     * This method is called before every search. It ages the table, so that entries from earlier
+     * searches are replaced first, and resets the hit and miss statistics.
+     */
+    public void newSearch() {
+        this.age=(this.age+1) & 0xff;
+        this.probes=0;
+        this.hits=0;
+        this.stores=0;
+        this.overwrites=0;
+    }
+
+    /**
+     * This method removes every entry from the table. It is used when a game is reset, since none of
+     * the stored positions are likely to be reached again.
+     */
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.entries, 0L);
+        this.newSearch();
+    }
+
+    /**
+     * This method looks up a position in the table, and returns the packed entry for it, or 0 if the
+     * position is not in the table.
+     */
+    public long probe(long key) {
+        this.probes++;
+        int index=this.getBucketIndex(key);
+        for (int slot=index; slot<index+this.entriesPerBucket; slot++) {
+            long entry=this.entries[slot];
+            if (entry!=0 && (this.keys[slot] ^ entry)==key) {
+                this.hits++;
+                return entry;
+            }
+        } return 0L;
+    }
+
+    /**
+     * This method stores the result of searching a position in the table, using the replacement
+     * policy to decide which entry of the position's bucket to overwrite. The move is the index of a
+     * BitBoard square, or NO_MOVE.
+     */
+    public void store(long key, int depth, int bound, int score, int move) {
+        int index=this.getBucketIndex(key);
+        int slot=index;
+        if (this.replacementPolicy==Constants.TT_DEPTH_PREFERRED) {
+            if (!this.canReplace(slot, key, depth)) {
+                return;
+            }
+        } else if (this.replacementPolicy==Constants.TT_TWO_TIER) {
+            if (!this.canReplace(index, key, depth)) {
+                slot=index+1;
+            } else if (this.getKey(index)!=key && this.entries[index]!=0) {
+                this.countOverwrite(index+1, key);
+                this.keys[index+1]=this.keys[index];
+                this.entries[index+1]=this.entries[index];
+                this.entries[index]=0L;
+            }
+        }
+        this.stores++;
+        this.countOverwrite(slot, key);
+        long entry=((long) score & 0xffffffffL)
+                | ((long) depth << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) (move+1) << MOVE_SHIFT)
+                | ((long) this.age << AGE_SHIFT);
+        this.entries[slot]=entry;
+        this.keys[slot]=key ^ entry;
+    }
+
+    /**
+     * This helper method counts an overwrite if the entry at a particular slot holds a different
+     * position than the one about to be stored there.
+     */
+    private void countOverwrite(int slot, long key) {
+        if (this.entries[slot]!=0 && this.getKey(slot)!=key) {
+            this.overwrites++;
+        }
+    }
+
+    /**
+     * This helper method determines whether the depth-preferred entry at a particular slot may be
+     * replaced. This is the case if the slot is empty, holds the same position, was stored during an
+     * earlier search, or was searched less deeply than the new result.
+     */
+    private boolean canReplace(int slot, long key, int depth) {
+        long entry=this.entries[slot];
+        return entry==0 || (this.keys[slot] ^ entry)==key || TranspositionTable.getAge(entry)!=this.age
+                || depth>=TranspositionTable.getDepth(entry);
+    }
+
+    /**
+     * This helper method returns the key of the position stored at a particular slot.
+     */
+    private long getKey(int slot) {
+        return this.keys[slot] ^ this.entries[slot];
+    }
+
+    /**
+     * This helper method returns the index of the first entry in the bucket a key belongs to.
+     */
+    private int getBucketIndex(long key) {
+        return (int) (key & this.bucketMask) * this.entriesPerBucket;
+    }
+
+    /**
+     * This method returns the score stored in a packed entry.
+     */
+    public static int getScore(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * This method returns the depth stored in a packed entry.
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xff;
+    }
+
+    /**
+     * This method returns the bound type stored in a packed entry, which is one of BOUND_EXACT,
+     * BOUND_LOWER, or BOUND_UPPER.
+     */
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * This method returns the best move stored in a packed entry, or NO_MOVE.
+     */
+    public static int getMove(long entry) {
+        return ((int) (entry >>> MOVE_SHIFT) & 0x7f) - 1;
+    }
+
+    /**
+     * This helper method returns the age stored in a packed entry.
+     */
+    private static int getAge(long entry) {
+        return (int) (entry >>> AGE_SHIFT) & 0xff;
+    }
+
+    /**
+     * This method returns the number of entries in the table.
+     */
+    public int getCapacity() {
+        return this.entries.length;
+    }
+
+    /**
+     * This method returns the number of lookups made since the start of the current search.
+     */
+    public long getProbes() {
+        return this.probes;
+    }
+
+    /**
+     * This method returns the number of lookups since the start of the current search which found
+     * their position in the table.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * This method returns the number of lookups since the start of the current search which did not
+     * find their position in the table.
+     */
+    public long getMisses() {
+        return this.probes-this.hits;
+    }
+
+    /**
+     * This method returns the fraction of lookups since the start of the current search which found
+     * their position in the table.
+     */
+    public double getHitRate() {
+        if (this.probes==0) {
+            return 0;
+        } return (double) this.hits/this.probes;
+    }
+
+    /**
+     * This method returns the number of results stored since the start of the current search.
+     */
+    public long getStores() {
+        return this.stores;
+    }
+
+    /**
+     * This method returns the number of stored results since the start of the current search which
+     * overwrote a different position. A high number of overwrites compared to stores suggests the
+     * table is too small.
+     */
+    public long getOverwrites() {
+        return this.overwrites;
+    }
+}
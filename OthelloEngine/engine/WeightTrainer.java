@@ -0,0 +1,355 @@
+package othello;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class is a command line program which fits the weights of the PatternEvaluator to a file of
+ * self-play games, such as one written by the Tournament. Every position of every game is labelled
+ * with the final difference in pieces from the point of view of the player to move, multiplied by
+ * DISC_VALUE, and the weights are fitted by least squares, so that the PatternEvaluator learns to
+ * predict how a game will end. The features are the canonical pattern indices of the
+ * PatternEvaluator, so every orientation of a position trains the same weights, and the fitted weights
+ * score every orientation the same.
+ *
+ * The games are streamed from the file in mini-batches, and every epoch reads the file again, so only
+ * one batch of games is ever held in memory and the file can hold tens of millions of positions. The
+ * games of each batch are split across worker threads, which replay them, work out the features of
+ * every position and add up the gradient of the squared error for their share. The gradients are then
+ * added together and applied with AdaGrad, which gives every weight its own step size, so that the
+ * pattern weights, which each appear in few positions, and the mobility and frontier weights, which
+ * appear in every position, all learn at a sensible rate.
+ *
+ * Every VALIDATION_INTERVAL-th game is never trained on, and the error on those games shows whether
+ * the weights predict games they have not seen.
+ *
+ * Usage: WeightTrainer gameFile [weightFile] [epochs] [batchGames] [learningRate] [threads]
+ */
+public class WeightTrainer {
+    private static final int DISC_VALUE = 100;
+    private static final int VALIDATION_INTERVAL = 20;
+
+    private float[] weights;
+    private float[] squaredGradients;
+    private float[] gradient;
+    private boolean[] touched;
+    private int[] touchedIndices;
+    private float learningRate;
+    private ExecutorService executor;
+    private BatchWorker[] workers;
+
+    /**
+     * The constructor for the WeightTrainer class starts with every weight at zero, and creates one
+     * worker for each thread.
+     */
+    public WeightTrainer(float learningRate, int threads) {
+        this.weights=new float[PatternEvaluator.WEIGHT_COUNT];
+        this.squaredGradients=new float[PatternEvaluator.WEIGHT_COUNT];
+        this.gradient=new float[PatternEvaluator.WEIGHT_COUNT];
+        this.touched=new boolean[PatternEvaluator.WEIGHT_COUNT];
+        this.touchedIndices=new int[PatternEvaluator.WEIGHT_COUNT];
+        this.learningRate=learningRate;
+        this.executor=Executors.newFixedThreadPool(threads);
+        this.workers=new BatchWorker[threads];
+        for (int i=0; i<threads; i++) {
+            this.workers[i]=new BatchWorker(this.weights);
+        }
+    }
+
+    /**
+     * This is the mainline, which parses the arguments, trains for a number of epochs, printing the error
+     * after every epoch, and writes the weights to a weight file.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length==0) {
+            System.err.println("Usage: WeightTrainer gameFile [weightFile] [epochs] [batchGames] [learningRate] "
+                    +"[threads]");
+            System.exit(1);
+        }
+        Path gameFile = Paths.get(args[0]);
+        Path weightFile = Paths.get(Constants.PATTERN_WEIGHTS_FILE);
+        int epochs = 10;
+        int batchGames = 256;
+        float learningRate = 64.0f;
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (args.length>1) {
+            weightFile = Paths.get(args[1]);
+        } if (args.length>2) {
+            epochs = Integer.parseInt(args[2]);
+        } if (args.length>3) {
+            batchGames = Integer.parseInt(args[3]);
+        } if (args.length>4) {
+            learningRate = Float.parseFloat(args[4]);
+        } if (args.length>5) {
+            threads = Integer.parseInt(args[5]);
+        }
+
+        WeightTrainer trainer = new WeightTrainer(learningRate, threads);
+        try {
+            System.out.println("epoch   positions  train error  validation error  positions/sec");
+            for (int epoch=1; epoch<=epochs; epoch++) {
+                long startTime = System.nanoTime();
+                trainer.trainEpoch(gameFile, batchGames);
+                double seconds = (System.nanoTime()-startTime)/1e9;
+                System.out.printf("%5d %11d %12.2f %17.2f %14.0f%n", epoch, trainer.getPositionCount(),
+                        trainer.getTrainingError(), trainer.getValidationError(),
+                        trainer.getPositionCount()/Math.max(seconds, 1e-9));
+            }
+        } finally {
+            trainer.shutdown();
+        }
+        trainer.createEvaluator().save(weightFile);
+        System.out.println("Wrote weights to "+weightFile);
+    }
+
+    /**
+     * This method streams every game in a file through the trainer once, in batches of a particular
+     * number of games. The errors of the epoch can be read afterwards.
+     */
+    public void trainEpoch(Path gameFile, int batchGames) throws IOException, InterruptedException,
+            ExecutionException {
+        for (BatchWorker worker: this.workers) {
+            worker.resetErrors();
+        }
+        GameRecord[] batch = new GameRecord[batchGames];
+        boolean[] validationGames = new boolean[batchGames];
+        for (int i=0; i<batchGames; i++) {
+            batch[i]=new GameRecord();
+        }
+        try (GameRecordReader reader = new GameRecordReader(gameFile)) {
+            long gameIndex = 0;
+            int batchSize = 0;
+            while (reader.readGame(batch[batchSize])) {
+                validationGames[batchSize]=gameIndex%VALIDATION_INTERVAL==0;
+                gameIndex++;
+                batchSize++;
+                if (batchSize==batchGames) {
+                    this.trainBatch(batch, validationGames, batchSize);
+                    batchSize=0;
+                }
+            }
+            if (batchSize>0) {
+                this.trainBatch(batch, validationGames, batchSize);
+            }
+        }
+    }
+
+    /**
+     * This helper method splits a batch of games across the workers, waits for their gradients, and
+     * applies the sum of the gradients to the weights.
+     */
+    private void trainBatch(GameRecord[] batch, boolean[] validationGames, int batchSize)
+            throws InterruptedException, ExecutionException {
+        ArrayList<Future<Void>> workerTasks = new ArrayList<>();
+        for (int i=0; i<this.workers.length; i++) {
+            BatchWorker worker = this.workers[i];
+            int firstGame = batchSize*i/this.workers.length;
+            int lastGame = batchSize*(i+1)/this.workers.length;
+            workerTasks.add(this.executor.submit(() -> worker.processGames(batch, validationGames, firstGame,
+                    lastGame)));
+        }
+        for (Future<Void> workerTask: workerTasks) {
+            workerTask.get();
+        }
+
+        int touchedCount = 0;
+        for (BatchWorker worker: this.workers) {
+            for (int i=0; i<worker.touchedCount; i++) {
+                int index = worker.touchedIndices[i];
+                if (!this.touched[index]) {
+                    this.touched[index]=true;
+                    this.touchedIndices[touchedCount]=index;
+                    touchedCount++;
+                }
+                this.gradient[index]+=worker.gradient[index];
+            }
+            worker.clearGradient();
+        }
+        for (int i=0; i<touchedCount; i++) {
+            int index = this.touchedIndices[i];
+            float indexGradient = this.gradient[index];
+            this.squaredGradients[index]+=indexGradient*indexGradient;
+            this.weights[index]-=this.learningRate*indexGradient/(float) Math.sqrt(this.squaredGradients[index]+1e-8f);
+            this.gradient[index]=0;
+            this.touched[index]=false;
+        }
+    }
+
+    /**
+     * This method returns a PatternEvaluator with the current weights, rounded to whole numbers.
+     */
+    public PatternEvaluator createEvaluator() {
+        int[] roundedWeights = new int[PatternEvaluator.WEIGHT_COUNT];
+        for (int i=0; i<roundedWeights.length; i++) {
+            roundedWeights[i]=Math.round(this.weights[i]);
+        } return new PatternEvaluator(roundedWeights);
+    }
+
+    /**
+     * This method returns the number of positions trained on during the last epoch.
+     */
+    public long getPositionCount() {
+        long positions = 0;
+        for (BatchWorker worker: this.workers) {
+            positions+=worker.trainingPositions;
+        } return positions;
+    }
+
+    /**
+     * This method returns the root mean squared error, in pieces, of the positions trained on during the
+     * last epoch, measured before each batch was applied.
+     */
+    public double getTrainingError() {
+        double squaredError = 0;
+        for (BatchWorker worker: this.workers) {
+            squaredError+=worker.trainingSquaredError;
+        } return Math.sqrt(squaredError/Math.max(this.getPositionCount(), 1))/DISC_VALUE;
+    }
+
+    /**
+     * This method returns the root mean squared error, in pieces, of the positions in the games held out
+     * from training during the last epoch.
+     */
+    public double getValidationError() {
+        double squaredError = 0;
+        long positions = 0;
+        for (BatchWorker worker: this.workers) {
+            squaredError+=worker.validationSquaredError;
+            positions+=worker.validationPositions;
+        } return Math.sqrt(squaredError/Math.max(positions, 1))/DISC_VALUE;
+    }
+
+    /**
+     * This method stops the worker threads.
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * This class replays one worker's share of each batch and adds up its gradient. Only the weights
+     * used by the positions it sees are touched, and they are listed so that clearing the gradient after
+     * the batch does not have to go through every weight.
+     */
+    private static class BatchWorker {
+        private float[] weights;
+        private float[] gradient;
+        private boolean[] touched;
+        private int[] touchedIndices;
+        private int touchedCount;
+        private int[] featureIndices;
+        private double trainingSquaredError;
+        private long trainingPositions;
+        private double validationSquaredError;
+        private long validationPositions;
+
+        /**
+         * The constructor for the BatchWorker class takes in the weights being trained, which it only
+         * reads.
+         */
+        private BatchWorker(float[] weights) {
+            this.weights=weights;
+            this.gradient=new float[PatternEvaluator.WEIGHT_COUNT];
+            this.touched=new boolean[PatternEvaluator.WEIGHT_COUNT];
+            this.touchedIndices=new int[PatternEvaluator.WEIGHT_COUNT];
+            this.featureIndices=new int[PatternEvaluator.PATTERNS];
+        }
+
+        /**
+         * This method replays the games of a batch from firstGame up to but not including lastGame.
+         * Every position before a move is scored with the current weights, and for training games the
+         * error is added to the gradient of every weight the position uses.
+         */
+        private Void processGames(GameRecord[] batch, boolean[] validationGames, int firstGame, int lastGame) {
+            for (int game=firstGame; game<lastGame; game++) {
+                GameRecord gameRecord = batch[game];
+                BitBoard currBoard = BitBoard.startPosition();
+                boolean isBlack = false;
+                for (int move=0; move<gameRecord.getMoveCount(); move++) {
+                    if (currBoard.getLegalMoves(isBlack)==0) {
+                        isBlack = !isBlack;
+                    }
+                    int target = isBlack ? gameRecord.getDiscDifference() : -gameRecord.getDiscDifference();
+                    this.processPosition(currBoard, isBlack, target*DISC_VALUE, !validationGames[game]);
+                    currBoard.placePiece(gameRecord.getMove(move), isBlack);
+                    isBlack = !isBlack;
+                }
+            } return null;
+        }
+
+        /**
+         * This helper method scores one position with the current weights, adds its squared error to the
+         * totals, and adds its gradient if the position is being trained on.
+         */
+        private void processPosition(BitBoard currBoard, boolean isBlack, int target, boolean train) {
+            long player = currBoard.getPieces(isBlack);
+            long opponent = currBoard.getPieces(!isBlack);
+            int phaseOffset = PatternEvaluator.getPhaseOffset(currBoard);
+            float prediction = 0;
+            for (int pattern=0; pattern<PatternEvaluator.PATTERNS; pattern++) {
+                this.featureIndices[pattern]=phaseOffset + PatternEvaluator.TABLE_OFFSETS[pattern]
+                        + PatternEvaluator.getPatternIndex(player, opponent, pattern);
+                prediction+=this.weights[this.featureIndices[pattern]];
+            }
+            int mobility = PatternEvaluator.getMobility(currBoard, isBlack);
+            int frontier = PatternEvaluator.getFrontier(currBoard, isBlack);
+            int mobilityIndex = phaseOffset + PatternEvaluator.MOBILITY_OFFSET;
+            int frontierIndex = phaseOffset + PatternEvaluator.FRONTIER_OFFSET;
+            prediction+=mobility*this.weights[mobilityIndex] + frontier*this.weights[frontierIndex];
+
+            float error = prediction-target;
+            if (!train) {
+                this.validationSquaredError+=error*error;
+                this.validationPositions++;
+                return;
+            }
+            this.trainingSquaredError+=error*error;
+            this.trainingPositions++;
+            for (int index: this.featureIndices) {
+                this.addGradient(index, error);
+            }
+            this.addGradient(mobilityIndex, error*mobility);
+            this.addGradient(frontierIndex, error*frontier);
+        }
+
+        /**
+         * This helper method adds to the gradient of one weight, listing the weight the first time it is
+         * touched in a batch.
+         */
+        private void addGradient(int index, float value) {
+            if (!this.touched[index]) {
+                this.touched[index]=true;
+                this.touchedIndices[this.touchedCount]=index;
+                this.touchedCount++;
+            }
+            this.gradient[index]+=value;
+        }
+
+        /**
+         * This method sets the gradient of every touched weight back to zero.
+         */
+        private void clearGradient() {
+            for (int i=0; i<this.touchedCount; i++) {
+                this.gradient[this.touchedIndices[i]]=0;
+                this.touched[this.touchedIndices[i]]=false;
+            }
+            this.touchedCount=0;
+        }
+
+        /**
+         * This method sets the error totals back to zero at the start of an epoch.
+         */
+        private void resetErrors() {
+            this.trainingSquaredError=0;
+            this.trainingPositions=0;
+            this.validationSquaredError=0;
+            this.validationPositions=0;
+        }
+    }
+}
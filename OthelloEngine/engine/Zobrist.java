@@ -0,0 +1,82 @@
+package othello;
+
+import java.util.Random;
+
+/**
+ * This class calculates Zobrist hashes of BitBoards, which are used as keys into the
+ * TranspositionTable. Every square is given one random number for a black piece and one for a white
+ * piece, and the hash of a board is the exclusive or of the numbers for every piece on the board,
+ * together with an extra number when black is to move. The random numbers are generated from a fixed
+ * seed so that the same position always hashes to the same value.
+ *
+ * Because the hash is an exclusive or, it does not have to be worked out from scratch after every move.
+ * Each BitBoard keeps the hash of its pieces up to date as moves are made, using the keys of the square
+ * played and of the pieces flipped, which are only a few squares, and the hash of a position is then
+ * that hash together with the number for the player to move.
+ */
+public class Zobrist {
+    private static final long SEED = 0x0123456789abcdefL;
+    private static final long[] BLACK_KEYS = new long[64];
+    private static final long[] WHITE_KEYS = new long[64];
+    private static final long[] FLIP_KEYS = new long[64];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        Random random = new Random(SEED);
+        for (int square=0; square<64; square++) {
+            BLACK_KEYS[square]=random.nextLong();
+            WHITE_KEYS[square]=random.nextLong();
+            FLIP_KEYS[square]=BLACK_KEYS[square] ^ WHITE_KEYS[square];
+        }
+        BLACK_TO_MOVE_KEY=random.nextLong();
+    }
+
+    /**
+     * This method returns the Zobrist hash of a BitBoard with a particular player to move, from the hash
+     * of its pieces which the BitBoard keeps up to date.
+     */
+    public static long hash(BitBoard currBoard, boolean isBlack) {
+        if (isBlack) {
+            return currBoard.getPiecesHash() ^ BLACK_TO_MOVE_KEY;
+        } return currBoard.getPiecesHash();
+    }
+
+    /**
+     * This method returns the Zobrist hash of a position given as the longs holding its black and white
+     * pieces, with a particular player to move, working it out from every piece on the board.
+     */
+    public static long hash(long black, long white, boolean isBlack) {
+        long hash=Zobrist.hashPieces(black, white);
+        if (isBlack) {
+            hash ^= BLACK_TO_MOVE_KEY;
+        } return hash;
+    }
+
+    /**
+     * This method returns the hash of the pieces of a position, without the number for the player to
+     * move, working it out from every piece on the board.
+     */
+    public static long hashPieces(long black, long white) {
+        long hash=0L;
+        while (black!=0) {
+            hash ^= BLACK_KEYS[Long.numberOfTrailingZeros(black)];
+            black &= black-1;
+        }
+        while (white!=0) {
+            hash ^= WHITE_KEYS[Long.numberOfTrailingZeros(white)];
+            white &= white-1;
+        } return hash;
+    }
+
+    /**
+     * This method returns the change in the hash of the pieces when a particular player plays on a
+     * particular square and flips particular pieces. Applying the same change again takes the move back.
+     */
+    public static long moveKey(int square, long flips, boolean isBlack) {
+        long key=isBlack ? BLACK_KEYS[square] : WHITE_KEYS[square];
+        while (flips!=0) {
+            key ^= FLIP_KEYS[Long.numberOfTrailingZeros(flips)];
+            flips &= flips-1;
+        } return key;
+    }
+}